@@ -2,25 +2,52 @@ package com.oww.gateway.config;
 
 import java.util.Arrays;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.reactive.CorsConfigurationSource;
 import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.server.RequestPredicates;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.RouterFunctions;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
+import com.oww.gateway.controller.HomeController;
+import com.oww.gateway.util.IdentityHeaderSigner;
+import com.oww.gateway.util.StaticResourceMatcher;
+
 @Configuration
 @EnableWebFluxSecurity
 public class SecurityConfig {
 
+    private final StaticResourceMatcher staticResourceMatcher;
+
+    public SecurityConfig(StaticResourceMatcher staticResourceMatcher) {
+        this.staticResourceMatcher = staticResourceMatcher;
+    }
+
+    /**
+     * 보안 체인 permitAll용 정적 리소스 판별 (게이트웨이가 직접 제공하는 접두사만, 확장자 매칭 없음)
+     */
     @Bean
-    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+    public StaticResourceMatcher permitAllStaticResourceMatcher(
+            @Value("${gateway.static.permit-all.prefixes:/css/,/js/,/img/,/static/}") String[] prefixes,
+            @Value("${gateway.static.permit-all.extensions:}") String[] extensions,
+            @Value("${gateway.static.permit-all.paths:/favicon.ico}") String[] exactPaths) {
+        return new StaticResourceMatcher(prefixes, extensions, exactPaths);
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+            @Qualifier("permitAllStaticResourceMatcher") StaticResourceMatcher permitAllStaticResourceMatcher) {
         return http
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
                 .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
@@ -29,8 +56,7 @@ public class SecurityConfig {
                 .authorizeExchange(exchanges -> exchanges
                         // ✅ 정적 리소스 허용 (모든 서비스 공통)
                         .pathMatchers("/", "/index.html").permitAll()
-                        .pathMatchers("/css/**", "/js/**", "/img/**", "/favicon.ico").permitAll()
-                        .pathMatchers("/static/**").permitAll()
+                        .matchers(permitAllStaticResourceMatcher).permitAll()
                         
                         // ✅ 인증 관련 경로 허용
                         .pathMatchers("/auth/**", "/login/**", "/oauth2/**").permitAll()
@@ -63,13 +89,39 @@ public class SecurityConfig {
         return source;
     }
     
+    /**
+     * 게이트웨이 정적 리소스 (메모리 캐시 + ETag/Cache-Control)
+     */
     @Bean
-    public RouterFunction<ServerResponse> staticResourceRouter() {
-        return RouterFunctions.resources("/css/**", new ClassPathResource("static/css/"))
-            .and(RouterFunctions.resources("/js/**", new ClassPathResource("static/js/")))
-            .and(RouterFunctions.resources("/img/**", new ClassPathResource("static/img/")))
-            .and(RouterFunctions.resources("/favicon.ico", new ClassPathResource("static/favicon.ico")))
-            .and(RouterFunctions.resources("/static/**", new ClassPathResource("static/")));
+    public RouterFunction<ServerResponse> staticResourceRouter(StaticAssetCache staticAssetCache,
+                                                               HomeController homeController) {
+        return RouterFunctions
+            .route(RequestPredicates.GET("/"), homeController::home)
+            .andRoute(RequestPredicates.GET("/css/**")
+                    .or(RequestPredicates.GET("/js/**"))
+                    .or(RequestPredicates.GET("/img/**"))
+                    .or(RequestPredicates.GET("/favicon.ico")),
+                request -> staticAssetCache.serve(request, "static" + request.path()))
+            .andRoute(RequestPredicates.GET("/static/**"),
+                request -> staticAssetCache.serve(request, request.path().substring(1)));
+    }
+
+    /**
+     * 하위 서비스 정적 리소스 전용 라우트 (JWT 필터 없이 바로 전달)
+     * - gateway.static.bypass-uri 설정 시에만 등록, JwtAuth 라우트보다 먼저 매칭
+     * - 클라이언트가 보낸 신원 헤더는 제거 (서명 검증 없이 하위 서비스에 전달되지 않도록)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "gateway.static.bypass-uri")
+    public RouteLocator staticResourceBypassRoute(RouteLocatorBuilder builder,
+                                                  @Value("${gateway.static.bypass-uri}") String bypassUri) {
+        return builder.routes()
+                .route("static-resource-bypass", r -> r
+                        .order(-1)
+                        .predicate(exchange -> staticResourceMatcher.isStaticResource(exchange.getRequest().getPath().value()))
+                        .filters(f -> f.removeRequestHeader(IdentityHeaderSigner.HEADER_NAME))
+                        .uri(bypassUri))
+                .build();
     }
 
 }
\ No newline at end of file
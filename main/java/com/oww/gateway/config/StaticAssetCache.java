@@ -0,0 +1,312 @@
+package com.oww.gateway.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 게이트웨이 정적 리소스 메모리 캐시
+ * - 최초 요청 시 classpath에서 읽어 원본/gzip 본문과 SHA-256 기반 강한 ETag를 미리 계산
+ *   (표현별로 다른 검증자가 필요하므로 gzip/br 본문은 ETag에 -gz/-br 접미사)
+ * - 파일명에 해시가 포함된(fingerprinted) 리소스는 immutable, 나머지는 ETag 재검증
+ * - 빌드 시 함께 배포된 .br 파일이 있으면 brotli 변형으로 사용
+ * - 존재하지 않는 경로는 캐시하지 않으며, 캐시 항목 수는 max-entries로 제한
+ * - gateway.static.cache.reload=true(개발용)이면 캐시하지 않고 매 요청마다 다시 읽음
+ */
+@Component
+public class StaticAssetCache {
+
+    private static final Logger log = LoggerFactory.getLogger(StaticAssetCache.class);
+
+    // app.3f9a1c2b.js, app-3f9a1c2b.css 형태 (16진수 8자 이상, 숫자만으로 된 날짜/번호는 제외)
+    private static final String DEFAULT_FINGERPRINT = ".*[.-](?=[0-9a-fA-F]*[a-fA-F])[0-9a-fA-F]{8,}\\.[^./]+$";
+
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String REVALIDATE = "public, max-age=0, must-revalidate";
+
+    private final ConcurrentHashMap<String, CachedAsset> assets = new ConcurrentHashMap<>();
+
+    private final int maxEntries;
+    private final long maxFileBytes;
+    private final int gzipMinBytes;
+    private final boolean reload;
+    private final Pattern fingerprint;
+
+    public StaticAssetCache(@Value("${gateway.static.cache.max-entries:512}") int maxEntries,
+                            @Value("${gateway.static.cache.max-file-bytes:1048576}") long maxFileBytes,
+                            @Value("${gateway.static.cache.gzip-min-bytes:1024}") int gzipMinBytes,
+                            @Value("${gateway.static.cache.reload:false}") boolean reload,
+                            @Value("${gateway.static.cache.fingerprint-pattern:}") String fingerprintPattern) {
+        this.maxEntries = maxEntries;
+        this.maxFileBytes = maxFileBytes;
+        this.gzipMinBytes = gzipMinBytes;
+        this.reload = reload;
+        // 비어 있으면 기본 패턴, 빌드 도구의 해시 형식이 다르면 설정으로 지정
+        this.fingerprint = Pattern.compile(fingerprintPattern == null || fingerprintPattern.isBlank()
+                ? DEFAULT_FINGERPRINT : fingerprintPattern);
+    }
+
+    /**
+     * 기동 시 미리 적재 (요청 경로에서 classpath를 읽지 않도록)
+     * @return 리소스 존재 여부
+     */
+    public boolean preload(String location) {
+        if (reload) {
+            return new ClassPathResource(location).exists();
+        }
+        return lookup(location) != null;
+    }
+
+    /**
+     * 정적 리소스 요청 처리 (RouterFunction 핸들러)
+     * @param location classpath 기준 경로 (예: static/css/main.css)
+     */
+    public Mono<ServerResponse> serve(ServerRequest request, String location) {
+        return serve(request, location, () -> ServerResponse.notFound().build());
+    }
+
+    /**
+     * 정적 리소스 요청 처리 (리소스가 없으면 fallback 응답)
+     */
+    public Mono<ServerResponse> serve(ServerRequest request, String location, Supplier<Mono<ServerResponse>> fallback) {
+        if (location.contains("..")) {
+            return fallback.get();
+        }
+
+        CachedAsset cached = reload ? null : assets.get(location);
+        Mono<CachedAsset> asset = cached != null
+                ? Mono.just(cached)
+                // classpath 읽기는 블로킹이므로 이벤트 루프 밖에서 수행
+                : Mono.fromCallable(() -> reload ? load(location) : lookup(location))
+                        .subscribeOn(Schedulers.boundedElastic());
+
+        return asset.flatMap(a -> respond(request, a))
+                .switchIfEmpty(Mono.defer(fallback));
+    }
+
+    /**
+     * 캐시 조회, 없으면 읽어서 적재
+     * - 없는 리소스는 null 반환 (캐시하지 않음)
+     * - 캐시가 가득 차면 적재하지 않고 읽은 결과만 반환
+     */
+    private CachedAsset lookup(String location) {
+        CachedAsset cached = assets.get(location);
+        if (cached != null) {
+            return cached;
+        }
+
+        CachedAsset loaded = load(location);
+        if (loaded == null) {
+            return null;
+        }
+        if (assets.size() >= maxEntries) {
+            log.debug("정적 리소스 캐시 가득 참, 적재하지 않음: {}", location);
+            return loaded;
+        }
+        CachedAsset previous = assets.putIfAbsent(location, loaded);
+        return previous != null ? previous : loaded;
+    }
+
+    private Mono<ServerResponse> respond(ServerRequest request, CachedAsset asset) {
+        // 크기 초과 리소스는 캐시하지 않고 classpath에서 바로 전송
+        if (asset.resource != null) {
+            return ServerResponse.ok()
+                    .contentType(asset.contentType)
+                    .bodyValue(asset.resource);
+        }
+
+        // 전송할 표현(content-coding)을 먼저 고른 뒤 그 표현의 ETag로 비교
+        String acceptEncoding = String.join(",", request.headers().header(HttpHeaders.ACCEPT_ENCODING));
+        float brQuality = asset.brotli != null ? quality(acceptEncoding, "br") : 0;
+        float gzipQuality = asset.gzip != null ? quality(acceptEncoding, "gzip") : 0;
+
+        byte[] body = asset.body;
+        String encoding = null;
+        String etag = asset.etag;
+        if (brQuality > 0 && brQuality >= gzipQuality) {
+            body = asset.brotli;
+            encoding = "br";
+            etag = variantEtag(asset.etag, "br");
+        } else if (gzipQuality > 0) {
+            body = asset.gzip;
+            encoding = "gzip";
+            etag = variantEtag(asset.etag, "gz");
+        }
+
+        if (matchesIfNoneMatch(request.headers().header(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ServerResponse.status(304)
+                    .header(HttpHeaders.ETAG, etag)
+                    .header(HttpHeaders.CACHE_CONTROL, asset.cacheControl)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ServerResponse.BodyBuilder builder = ServerResponse.ok()
+                .contentType(asset.contentType)
+                .contentLength(body.length)
+                .header(HttpHeaders.ETAG, etag)
+                .header(HttpHeaders.CACHE_CONTROL, asset.cacheControl)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (encoding != null) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+        return builder.bodyValue(body);
+    }
+
+    /**
+     * "<hash>" -> "<hash>-gz" / "<hash>-br"
+     */
+    private static String variantEtag(String etag, String suffix) {
+        return etag.substring(0, etag.length() - 1) + "-" + suffix + "\"";
+    }
+
+    /**
+     * If-None-Match 비교 (목록/약한 비교 허용, "*"는 항상 일치)
+     */
+    private static boolean matchesIfNoneMatch(List<String> headerValues, String etag) {
+        for (String value : headerValues) {
+            for (String token : value.split(",")) {
+                String candidate = token.trim();
+                if (candidate.startsWith("W/")) {
+                    candidate = candidate.substring(2);
+                }
+                if (candidate.equals("*") || candidate.equals(etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Accept-Encoding에서 해당 coding의 q 값 (명시가 없으면 "*"의 q 값, 둘 다 없으면 0)
+     */
+    private static float quality(String acceptEncoding, String coding) {
+        float wildcard = 0;
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.split(";");
+            String name = parts[0].trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            float q = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=") || param.startsWith("Q=")) {
+                    try {
+                        q = Float.parseFloat(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (name.equalsIgnoreCase(coding)) {
+                return q;
+            }
+            if (name.equals("*")) {
+                wildcard = q;
+            }
+        }
+        return wildcard;
+    }
+
+    private CachedAsset load(String location) {
+        ClassPathResource resource = new ClassPathResource(location);
+        if (!resource.exists() || !resource.isReadable()) {
+            return null;
+        }
+
+        try {
+            MediaType contentType = MediaTypeFactory.getMediaType(location).orElse(MediaType.APPLICATION_OCTET_STREAM);
+            if (resource.contentLength() > maxFileBytes) {
+                log.info("정적 리소스 캐시 제외 (크기 초과): {} ({} bytes)", location, resource.contentLength());
+                return new CachedAsset(resource, contentType);
+            }
+
+            byte[] body = read(resource);
+            String etag = "\"" + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body), 0, 16) + "\"";
+            String cacheControl = fingerprint.matcher(location).matches() ? IMMUTABLE : REVALIDATE;
+
+            byte[] gzip = isCompressible(contentType) && body.length >= gzipMinBytes ? gzip(body) : null;
+            ClassPathResource brResource = new ClassPathResource(location + ".br");
+            byte[] brotli = brResource.exists() ? read(brResource) : null;
+
+            return new CachedAsset(body, gzip, brotli, contentType, etag, cacheControl);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.warn("정적 리소스 로드 실패: {}", location, e);
+            return null;
+        }
+    }
+
+    private static boolean isCompressible(MediaType contentType) {
+        return "text".equals(contentType.getType())
+                || contentType.getSubtype().contains("javascript")
+                || contentType.getSubtype().contains("json")
+                || contentType.getSubtype().contains("svg");
+    }
+
+    private static byte[] read(ClassPathResource resource) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    private static class CachedAsset {
+        private final ClassPathResource resource; // 캐시 제외 리소스만 설정
+        private final byte[] body;
+        private final byte[] gzip;
+        private final byte[] brotli;
+        private final MediaType contentType;
+        private final String etag;
+        private final String cacheControl;
+
+        private CachedAsset(ClassPathResource resource, MediaType contentType) {
+            this(resource, null, null, null, contentType, null, null);
+        }
+
+        private CachedAsset(byte[] body, byte[] gzip, byte[] brotli, MediaType contentType, String etag, String cacheControl) {
+            this(null, body, gzip, brotli, contentType, etag, cacheControl);
+        }
+
+        private CachedAsset(ClassPathResource resource, byte[] body, byte[] gzip, byte[] brotli,
+                            MediaType contentType, String etag, String cacheControl) {
+            this.resource = resource;
+            this.body = body;
+            this.gzip = gzip;
+            this.brotli = brotli;
+            this.contentType = contentType;
+            this.etag = etag;
+            this.cacheControl = cacheControl;
+        }
+    }
+}
\ No newline at end of file
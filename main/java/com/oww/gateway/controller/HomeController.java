@@ -1,65 +1,89 @@
 package com.oww.gateway.controller;
 
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.Map;
 
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.core.io.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
 
+import com.oww.gateway.config.StaticAssetCache;
+
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import reactor.core.publisher.Mono;
 
+/**
+ * 게이트웨이 홈 (/)
+ * - static/index.html을 기동 시 StaticAssetCache에 적재해 요청마다 파일을 읽지 않음 (ETag/gzip 포함)
+ * - index.html이 없으면 미리 인코딩해 둔 기본 HTML 반환
+ * - 라우팅은 SecurityConfig.staticResourceRouter에서 home(request)로 연결
+ */
 @RestController
 public class HomeController {
 
-    @GetMapping(value = "/", produces = MediaType.TEXT_HTML_VALUE)
-    public Mono<String> home() {
-        try {
-            Resource resource = new ClassPathResource("static/index.html");
-            String content = Files.readString(resource.getFile().toPath(), StandardCharsets.UTF_8);
-            return Mono.just(content);
-        } catch (Exception e) {
-            // index.html이 없으면 간단한 HTML 반환
-            String html = """
-                <!DOCTYPE html>
-                <html lang="ko">
-                <head>
-                    <meta charset="UTF-8">
-                    <title>Own Wedding Wallet</title>
-                    <style>
-                        body { font-family: Arial, sans-serif; text-align: center; padding: 50px; }
-                        .container { max-width: 600px; margin: 0 auto; }
-                        .login-btn { background: #007bff; color: white; border: none; 
-                                    padding: 15px 30px; font-size: 18px; border-radius: 5px; 
-                                    cursor: pointer; }
-                        .login-btn:hover { background: #0056b3; }
-                    </style>
-                </head>
-                <body>
-                    <div class="container">
-                        <h1>🏦 Own Wedding Wallet</h1>
-                        <p>환영합니다! 로그인하여 서비스를 이용해보세요.</p>
-                        <button class="login-btn" onclick="location.href='/oauth2/authorization/google'">
-                            Google로 로그인
-                        </button>
-                        <br><br>
-                        <a href="/banking_main">뱅킹 서비스 테스트</a>
-                    </div>
-                </body>
-                </html>
-                """;
-            return Mono.just(html);
+    private static final Logger log = LoggerFactory.getLogger(HomeController.class);
+
+    private static final String INDEX_LOCATION = "static/index.html";
+
+    // index.html이 없을 때 사용하는 기본 HTML
+    private static final byte[] FALLBACK_HTML = """
+        <!DOCTYPE html>
+        <html lang="ko">
+        <head>
+            <meta charset="UTF-8">
+            <title>Own Wedding Wallet</title>
+            <style>
+                body { font-family: Arial, sans-serif; text-align: center; padding: 50px; }
+                .container { max-width: 600px; margin: 0 auto; }
+                .login-btn { background: #007bff; color: white; border: none; 
+                            padding: 15px 30px; font-size: 18px; border-radius: 5px; 
+                            cursor: pointer; }
+                .login-btn:hover { background: #0056b3; }
+            </style>
+        </head>
+        <body>
+            <div class="container">
+                <h1>🏦 Own Wedding Wallet</h1>
+                <p>환영합니다! 로그인하여 서비스를 이용해보세요.</p>
+                <button class="login-btn" onclick="location.href='/oauth2/authorization/google'">
+                    Google로 로그인
+                </button>
+                <br><br>
+                <a href="/banking_main">뱅킹 서비스 테스트</a>
+            </div>
+        </body>
+        </html>
+        """.getBytes(StandardCharsets.UTF_8);
+
+    private final StaticAssetCache staticAssetCache;
+
+    public HomeController(StaticAssetCache staticAssetCache) {
+        this.staticAssetCache = staticAssetCache;
+    }
+
+    @PostConstruct
+    public void preloadIndex() {
+        if (!staticAssetCache.preload(INDEX_LOCATION)) {
+            log.warn("{} 없음, 기본 홈 화면 사용", INDEX_LOCATION);
         }
     }
 
+    public Mono<ServerResponse> home(ServerRequest request) {
+        return staticAssetCache.serve(request, INDEX_LOCATION, () -> ServerResponse.ok()
+                .contentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8))
+                .contentLength(FALLBACK_HTML.length)
+                .bodyValue(FALLBACK_HTML));
+    }
+
     @RestController
     public class AuthCheckController {
         
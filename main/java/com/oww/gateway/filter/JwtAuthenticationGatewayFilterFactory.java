@@ -1,5 +1,9 @@
 package com.oww.gateway.filter;
 
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
 import org.springframework.http.HttpHeaders;
@@ -8,18 +12,30 @@ import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 
+import com.oww.gateway.util.IdentityHeaderSigner;
 import com.oww.gateway.util.JwtUtil;
+import com.oww.gateway.util.StaticResourceMatcher;
 
 import reactor.core.publisher.Mono;
 
 @Component
 public class JwtAuthenticationGatewayFilterFactory extends AbstractGatewayFilterFactory<JwtAuthenticationGatewayFilterFactory.Config> {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationGatewayFilterFactory.class);
+
     private final JwtUtil jwtUtil;
+    private final StaticResourceMatcher staticResourceMatcher;
+    private final IdentityHeaderSigner identityHeaderSigner;
+
+    // 인증 실패 로그 샘플링용 카운터
+    private final AtomicLong authFailures = new AtomicLong();
 
-    public JwtAuthenticationGatewayFilterFactory(JwtUtil jwtUtil) {
+    public JwtAuthenticationGatewayFilterFactory(JwtUtil jwtUtil, StaticResourceMatcher staticResourceMatcher,
+                                                 IdentityHeaderSigner identityHeaderSigner) {
         super(Config.class);
         this.jwtUtil = jwtUtil;
+        this.staticResourceMatcher = staticResourceMatcher;
+        this.identityHeaderSigner = identityHeaderSigner;
     }
     
     @Override
@@ -27,6 +43,18 @@ public class JwtAuthenticationGatewayFilterFactory extends AbstractGatewayFilter
         return "JwtAuth";
     }
 
+    /**
+     * 클라이언트가 보낸 서명 신원 헤더 제거 (헤더가 없으면 그대로 반환)
+     */
+    private ServerWebExchange stripIdentityHeader(ServerWebExchange exchange) {
+        if (!exchange.getRequest().getHeaders().containsKey(IdentityHeaderSigner.HEADER_NAME)) {
+            return exchange;
+        }
+        return exchange.mutate()
+                .request(r -> r.headers(h -> h.remove(IdentityHeaderSigner.HEADER_NAME)))
+                .build();
+    }
+
     // 이메일 마스킹 유틸리티 메서드
     private String maskEmail(String email) {
         if (email == null) return null;
@@ -37,24 +65,31 @@ public class JwtAuthenticationGatewayFilterFactory extends AbstractGatewayFilter
 
     @Override
     public GatewayFilter apply(Config config) {
+        // 디버그 로그는 라우트 설정(debugMode)과 로거 레벨이 모두 켜져 있을 때만 출력
+        final boolean debug = config.isDebugMode();
+        final long sampleRate = Math.max(1, config.getFailureLogSampleRate());
+
         return (exchange, chain) -> {
-            System.out.println("[JWT Filter] 인증 필터 시작");
-            
             ServerHttpRequest request = exchange.getRequest();
-            String requestPath = request.getPath().toString();
-            System.out.println("[JWT Filter] 요청 경로: " + requestPath);
+            String requestPath = request.getPath().value();
+            boolean trace = debug && log.isDebugEnabled();
 
             // ⭐ 정적 리소스는 JWT 검증 건너뛰기
             if (isStaticResource(requestPath)) {
-                System.out.println("[JWT Filter] 정적 리소스 요청 - JWT 검증 건너뛰기: " + requestPath);
-                return chain.filter(exchange);
+                if (trace) {
+                    log.debug("[JWT Filter] 정적 리소스 요청 - JWT 검증 건너뛰기: {}", requestPath);
+                }
+                // 검증 없이 전달되므로 클라이언트가 보낸 신원 헤더는 제거
+                return chain.filter(stripIdentityHeader(exchange));
             }
             
             // JWT 토큰 추출 (쿠키 우선, 헤더 대안)
-            String jwtToken = extractJwtToken(request);
+            String jwtToken = extractJwtToken(request, trace);
             
             if (jwtToken == null) {
-                System.out.println("[JWT Filter] JWT 토큰이 없음 - 로그인 페이지로 리다이렉트");
+                if (trace) {
+                    log.debug("[JWT Filter] JWT 토큰이 없음 - 로그인 페이지로 리다이렉트: {}", requestPath);
+                }
                 return redirectToLogin(exchange);
             }
 
@@ -63,7 +98,12 @@ public class JwtAuthenticationGatewayFilterFactory extends AbstractGatewayFilter
                 JwtUtil.TokenValidationResult validationResult = jwtUtil.validateTokenWithDetails(jwtToken);
                 
                 if (!validationResult.isValid()) {
-                    System.out.println("[JWT Filter] JWT 토큰 검증 실패: " + validationResult.getMessage());
+                    // 실패 로그는 N건당 1건만 기록 (만료 토큰이 몰릴 때 로그 폭주 방지)
+                    long failures = authFailures.incrementAndGet();
+                    if (trace || (failures - 1) % sampleRate == 0) {
+                        log.info("[JWT Filter] JWT 토큰 검증 실패: path={}, reason={}, totalFailures={}",
+                                requestPath, validationResult.getMessage(), failures);
+                    }
                     return redirectToLogin(exchange);
                 }
 
@@ -72,11 +112,16 @@ public class JwtAuthenticationGatewayFilterFactory extends AbstractGatewayFilter
                 String role = validationResult.getRole();
                 String userEmailHash = validationResult.getUserEmailHash(); // 해시값 추출
 
-                System.out.println("[JWT Filter] JWT 토큰 검증 성공");
-                System.out.println("   - Username: " + username);
-                System.out.println("   - Role: " + role);
-                System.out.println("   - UserNo: " + userNo);
-                System.out.println("   - UserEmailHash: " + (userEmailHash != null ? userEmailHash.substring(0, 8) + "..." : "null"));
+                if (trace) {
+                    log.debug("[JWT Filter] JWT 토큰 검증 성공: path={}, username={}, role={}, userNo={}, userEmailHash={}",
+                            requestPath, username, role, userNo,
+                            userEmailHash != null && userEmailHash.length() > 8 ? userEmailHash.substring(0, 8) + "..." : userEmailHash);
+                }
+
+                // 서명된 신원 헤더 (하위 서비스가 JWT를 다시 검증하지 않도록)
+                String identity = identityHeaderSigner.isEnabled()
+                        ? identityHeaderSigner.sign(userNo, username, role, userEmailHash)
+                        : null;
 
                 // Banking Service로 전달할 헤더 설정
                 ServerWebExchange mutatedExchange = exchange.mutate()
@@ -86,19 +131,20 @@ public class JwtAuthenticationGatewayFilterFactory extends AbstractGatewayFilter
                 	        .header("x-username", username != null ? username : "")
                 	        .header("x-user-role", role != null ? ("ROLE_" + role) : "ROLE_USER")
                 	        .header("x-user-email-hash", userEmailHash != null ? userEmailHash : "")
+                	        .headers(h -> {
+                	            // 클라이언트가 보낸 값은 항상 제거하고 게이트웨이 서명 값만 전달
+                	            h.remove(IdentityHeaderSigner.HEADER_NAME);
+                	            if (identity != null) {
+                	                h.set(IdentityHeaderSigner.HEADER_NAME, identity);
+                	            }
+                	        })
                 	    )
                 	    .build();
 
-
-                System.out.println("[JWT Filter] 헤더 추가 완료 - Banking Service로 JWT + 해시 전달");
-                System.out.println("   - Authorization: Bearer ***");
-                System.out.println("   - x-user-email-hash: " + (userEmailHash != null ? userEmailHash.substring(0, 8) + "..." : "null"));
-
                 return chain.filter(mutatedExchange);
 
             } catch (Exception e) {
-                System.err.println("[JWT Filter] JWT 토큰 처리 중 예외 발생: " + e.getMessage());
-                e.printStackTrace();
+                log.warn("[JWT Filter] JWT 토큰 처리 중 예외 발생: path={}", requestPath, e);
                 return redirectToLogin(exchange);
             }
         };
@@ -107,7 +153,7 @@ public class JwtAuthenticationGatewayFilterFactory extends AbstractGatewayFilter
     /**
      * JWT 토큰 추출 (쿠키 우선, Authorization 헤더 대안)
      */
-    private String extractJwtToken(ServerHttpRequest request) {
+    private String extractJwtToken(ServerHttpRequest request, boolean trace) {
         // 1. 쿠키에서 jwt-token 확인
         String cookieToken = request.getCookies()
                 .getFirst("jwt-token") != null ?
@@ -116,7 +162,9 @@ public class JwtAuthenticationGatewayFilterFactory extends AbstractGatewayFilter
                         .getValue() : null;
 
         if (cookieToken != null && !cookieToken.trim().isEmpty()) {
-            System.out.println("[JWT Filter] 쿠키에서 JWT 토큰 발견");
+            if (trace) {
+                log.debug("[JWT Filter] 쿠키에서 JWT 토큰 발견");
+            }
             return cookieToken.trim();
         }
 
@@ -125,12 +173,13 @@ public class JwtAuthenticationGatewayFilterFactory extends AbstractGatewayFilter
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7).trim();
             if (!token.isEmpty()) {
-                System.out.println("[JWT Filter] Authorization 헤더에서 JWT 토큰 발견");
+                if (trace) {
+                    log.debug("[JWT Filter] Authorization 헤더에서 JWT 토큰 발견");
+                }
                 return token;
             }
         }
 
-        System.out.println("[JWT Filter] JWT 토큰을 찾을 수 없음");
         return null;
     }
 
@@ -139,25 +188,7 @@ public class JwtAuthenticationGatewayFilterFactory extends AbstractGatewayFilter
      * 정적 리소스 요청인지 확인
      */
     private boolean isStaticResource(String path) {
-        return path.startsWith("/css/") ||
-               path.startsWith("/js/") ||
-               path.startsWith("/img/") ||
-               path.startsWith("/images/") ||
-               path.startsWith("/static/") ||
-               path.startsWith("/webjars/") ||
-               path.equals("/favicon.ico") ||
-               path.endsWith(".css") ||
-               path.endsWith(".js") ||
-               path.endsWith(".png") ||
-               path.endsWith(".jpg") ||
-               path.endsWith(".jpeg") ||
-               path.endsWith(".gif") ||
-               path.endsWith(".ico") ||
-               path.endsWith(".svg") ||
-               path.endsWith(".woff") ||
-               path.endsWith(".woff2") ||
-               path.endsWith(".ttf") ||
-               path.endsWith(".eot");
+        return staticResourceMatcher.isStaticResource(path);
     }
     
     
@@ -174,8 +205,6 @@ public class JwtAuthenticationGatewayFilterFactory extends AbstractGatewayFilter
         }
         
         // 일반 페이지 요청인 경우 로그인 페이지로 리다이렉트
-        System.out.println("[JWT Filter] 로그인 페이지로 리다이렉트: " + redirectUrl);
-        
         exchange.getResponse().setStatusCode(HttpStatus.FOUND);
         exchange.getResponse().getHeaders().add("Location", redirectUrl);
         return exchange.getResponse().setComplete();
@@ -185,8 +214,6 @@ public class JwtAuthenticationGatewayFilterFactory extends AbstractGatewayFilter
      * JSON 에러 응답 (API 요청용)
      */
     private Mono<Void> createJsonErrorResponse(ServerWebExchange exchange, String errorMessage, HttpStatus status) {
-        System.out.println("[JWT Filter] JSON 에러 응답: " + errorMessage);
-        
         exchange.getResponse().setStatusCode(status);
         exchange.getResponse().getHeaders().add("Content-Type", "application/json");
 
@@ -203,6 +230,7 @@ public class JwtAuthenticationGatewayFilterFactory extends AbstractGatewayFilter
     public static class Config {
         private boolean redirectOnFailure = true;
         private boolean debugMode = false;
+        private long failureLogSampleRate = 100;
         
         public boolean isRedirectOnFailure() {
             return redirectOnFailure;
@@ -219,5 +247,13 @@ public class JwtAuthenticationGatewayFilterFactory extends AbstractGatewayFilter
         public void setDebugMode(boolean debugMode) {
             this.debugMode = debugMode;
         }
+        
+        public long getFailureLogSampleRate() {
+            return failureLogSampleRate;
+        }
+        
+        public void setFailureLogSampleRate(long failureLogSampleRate) {
+            this.failureLogSampleRate = failureLogSampleRate;
+        }
     }
 }
\ No newline at end of file
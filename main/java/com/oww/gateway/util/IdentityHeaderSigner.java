@@ -0,0 +1,73 @@
+package com.oww.gateway.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 게이트웨이 -> 내부 서비스 신원 헤더 서명
+ * - JWT를 검증한 뒤 사용자 정보를 HMAC-SHA256으로 서명한 짧은 봉투로 전달
+ * - 형식: v1.{만료(epoch초)}.{userNo}.{username}.{role}.{userEmailHash}.{서명}
+ *   (만료는 10진수 그대로, userNo~userEmailHash와 서명은 패딩 없는 base64url, 서명은 마지막 "." 앞까지의 문자열에 대한 HMAC)
+ * - 하위 서비스는 JWT 재파싱 대신 서명/만료만 확인
+ */
+@Component
+public class IdentityHeaderSigner {
+
+    public static final String HEADER_NAME = "x-oww-identity";
+
+    private static final String VERSION = "v1";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final SecretKeySpec keySpec;
+    private final long ttlSeconds;
+
+    private final ThreadLocal<Mac> mac = ThreadLocal.withInitial(this::newMac);
+
+    public IdentityHeaderSigner(@Value("${oww.identity.secret:}") String secret,
+                                @Value("${oww.identity.ttl-seconds:30}") long ttlSeconds) {
+        this.keySpec = secret.isEmpty() ? null : new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    /**
+     * 서명 키가 설정된 경우에만 사용
+     */
+    public boolean isEnabled() {
+        return keySpec != null;
+    }
+
+    /**
+     * 신원 헤더 값 생성
+     */
+    public String sign(String userNo, String username, String role, String userEmailHash) {
+        long expiresAt = System.currentTimeMillis() / 1000 + ttlSeconds;
+        String payload = VERSION + "." + expiresAt
+                + "." + encode(userNo)
+                + "." + encode(username)
+                + "." + encode(role)
+                + "." + encode(userEmailHash);
+        byte[] signature = mac.get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        return payload + "." + ENCODER.encodeToString(signature);
+    }
+
+    private static String encode(String value) {
+        return ENCODER.encodeToString((value != null ? value : "").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance("HmacSHA256");
+            instance.init(keySpec);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("신원 헤더 서명 초기화 실패", e);
+        }
+    }
+}
\ No newline at end of file
@@ -2,24 +2,83 @@ package com.oww.gateway.util;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtUtil.class);
+
+    // MessageDigest는 스레드 안전하지 않으므로 스레드별로 재사용
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다", e);
+        }
+    });
+
     @Value("${jwt.secret}")
     private String secretKey;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private int claimsCacheMaxSize;
+
+    @Value("${jwt.claims-cache.sweep-interval-seconds:60}")
+    private long claimsCacheSweepSeconds;
+
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    // 토큰 다이제스트 -> 검증된 클레임 (토큰 exp까지만 유효, 가득 차면 새 항목은 캐시하지 않음)
+    private final ConcurrentHashMap<String, CachedClaims> claimsCache = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService sweeper;
+
+    @PostConstruct
+    public void init() {
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        // 만료된 항목 정리는 요청 스레드가 아닌 별도 스레드에서 주기적으로 수행
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "jwt-claims-cache-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweepExpiredClaims,
+                claimsCacheSweepSeconds, claimsCacheSweepSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    private void sweepExpiredClaims() {
+        long now = System.currentTimeMillis();
+        claimsCache.values().removeIf(c -> c.expiresAtMillis <= now);
     }
 
     /**
@@ -78,32 +137,71 @@ public class JwtUtil {
     }
     
     /**
-     * 토큰에서 모든 클레임 추출
+     * 토큰에서 모든 클레임 추출 (캐시 우선, 만료된 항목은 다시 파싱하여 만료 예외 발생)
      */
     private Claims extractAllClaims(String token) {
+        if (token == null || token.isEmpty()) {
+            return parseClaims(token);
+        }
+
+        String key = digest(token);
+        CachedClaims cached = claimsCache.get(key);
+        if (cached != null) {
+            if (cached.expiresAtMillis > System.currentTimeMillis()) {
+                return cached.claims;
+            }
+            claimsCache.remove(key, cached);
+        }
+
+        Claims claims = parseClaims(token);
+        // exp가 없는 토큰은 캐시하지 않음, 가득 차면 주기 정리 전까지 캐시 없이 파싱
+        if (claims.getExpiration() != null && claimsCache.size() < claimsCacheMaxSize) {
+            claimsCache.put(key, new CachedClaims(claims, claims.getExpiration().getTime()));
+        }
+        return claims;
+    }
+
+    /**
+     * 1회 파싱으로 주요 클레임 추출 (캐시 사용)
+     */
+    public ParsedClaims parseAll(String token) {
+        Claims claims = extractAllClaims(token);
+        Object userNo = claims.get("userNo");
+        String role = claims.get("role", String.class);
+        return new ParsedClaims(
+                claims.getSubject(),
+                userNo != null ? userNo.toString() : null,
+                role != null ? role : "USER",
+                claims.get("userEmailHash", String.class),
+                claims.getIssuedAt(),
+                claims.getExpiration());
+    }
+
+    /**
+     * 서명 검증 + 클레임 파싱 (미리 생성한 파서 사용)
+     */
+    private Claims parseClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
+            return jwtParser
                     .parseClaimsJws(token)
                     .getBody();
         } catch (ExpiredJwtException e) {
-            System.err.println("JWT 토큰 만료: " + e.getMessage());
+            log.debug("JWT 토큰 만료: {}", e.getMessage());
             throw new IllegalArgumentException("Token expired", e);
         } catch (UnsupportedJwtException e) {
-            System.err.println("지원되지 않는 JWT 토큰: " + e.getMessage());
+            log.debug("지원되지 않는 JWT 토큰: {}", e.getMessage());
             throw new IllegalArgumentException("Unsupported JWT token", e);
         } catch (MalformedJwtException e) {
-            System.err.println("잘못된 형식의 JWT 토큰: " + e.getMessage());
+            log.debug("잘못된 형식의 JWT 토큰: {}", e.getMessage());
             throw new IllegalArgumentException("Malformed JWT token", e);
         } catch (SecurityException e) {
-            System.err.println("JWT 서명 검증 실패: " + e.getMessage());
+            log.debug("JWT 서명 검증 실패: {}", e.getMessage());
             throw new IllegalArgumentException("Invalid JWT signature", e);
         } catch (IllegalArgumentException e) {
-            System.err.println("JWT 토큰이 비어있음: " + e.getMessage());
+            log.debug("JWT 토큰이 비어있음: {}", e.getMessage());
             throw new IllegalArgumentException("JWT token is empty", e);
         } catch (Exception e) {
-            System.err.println("JWT 파싱 중 알 수 없는 오류: " + e.getMessage());
+            log.debug("JWT 파싱 중 알 수 없는 오류: {}", e.getMessage());
             throw new IllegalArgumentException("Invalid JWT token", e);
         }
     }
@@ -215,23 +313,54 @@ public class JwtUtil {
     }
 
     /**
-     * 토큰 유효성 및 클레임 정보를 한번에 검증하는 메서드
+     * 토큰 유효성 및 클레임 정보를 한번에 검증하는 메서드 (파싱 1회)
      */
     public TokenValidationResult validateTokenWithDetails(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            return new TokenValidationResult(false, "토큰이 유효하지 않거나 만료되었습니다", null, null, null, null);
+        }
+
+        ParsedClaims parsed;
         try {
-            if (!validateToken(token)) {
-                return new TokenValidationResult(false, "토큰이 유효하지 않거나 만료되었습니다", null, null, null, null);
-            }
+            parsed = parseAll(token);
+        } catch (Exception e) {
+            return new TokenValidationResult(false, "토큰이 유효하지 않거나 만료되었습니다", null, null, null, null);
+        }
 
-            String username = extractUsername(token);
-            String userNo = extractUserNo(token);
-            String role = extractRole(token);
-            String userEmailHash = extractUserEmailHash(token); // 변경됨
+        if (parsed.isExpired()) {
+            return new TokenValidationResult(false, "토큰이 유효하지 않거나 만료되었습니다", null, null, null, null);
+        }
 
-            return new TokenValidationResult(true, "토큰 검증 성공", username, userNo, role, userEmailHash);
+        return new TokenValidationResult(true, "토큰 검증 성공",
+                parsed.username(), parsed.userNo(), parsed.role(), parsed.userEmailHash());
+    }
 
-        } catch (Exception e) {
-            return new TokenValidationResult(false, "토큰 검증 중 오류: " + e.getMessage(), null, null, null, null);
+    /**
+     * 파싱된 클레임 (parseAll 결과)
+     */
+    public record ParsedClaims(String username, String userNo, String role, String userEmailHash,
+                               Date issuedAt, Date expiration) {
+
+        public boolean isExpired() {
+            return expiration != null && expiration.before(new Date());
+        }
+    }
+
+    /**
+     * 클레임 캐시 키 (토큰 원문 대신 SHA-256 다이제스트 사용)
+     */
+    private static String digest(String token) {
+        // digest()가 내부 상태를 초기화하므로 reset 없이 재사용 가능
+        return Base64.getEncoder().encodeToString(SHA256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static class CachedClaims {
+        private final Claims claims;
+        private final long expiresAtMillis;
+
+        private CachedClaims(Claims claims, long expiresAtMillis) {
+            this.claims = claims;
+            this.expiresAtMillis = expiresAtMillis;
         }
     }
 
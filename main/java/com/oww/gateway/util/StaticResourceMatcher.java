@@ -0,0 +1,104 @@
+package com.oww.gateway.util;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 정적 리소스 경로 판별 (SecurityConfig와 JWT 필터 공용)
+ * - 접두사는 트라이, 확장자/고정 경로는 Set으로 미리 구성
+ * - 요청마다 접두사 1회 순회 + 확장자 1회 조회
+ * - 이 빈(gateway.static.*)은 JWT 필터/우회 라우트용, 보안 체인 permitAll은 SecurityConfig의
+ *   좁은 인스턴스(gateway.static.permit-all.*) 사용
+ */
+@Primary
+@Component
+public class StaticResourceMatcher implements ServerWebExchangeMatcher {
+
+    private final Node prefixRoot = new Node();
+    private final Set<String> extensions = new HashSet<>();
+    private final Set<String> exactPaths = new HashSet<>();
+
+    public StaticResourceMatcher(
+            @Value("${gateway.static.prefixes:/css/,/js/,/img/,/images/,/static/,/webjars/}") String[] prefixes,
+            @Value("${gateway.static.extensions:css,js,png,jpg,jpeg,gif,ico,svg,woff,woff2,ttf,eot}") String[] extensions,
+            @Value("${gateway.static.paths:/favicon.ico}") String[] exactPaths) {
+        for (String prefix : prefixes) {
+            if (!prefix.isBlank()) {
+                addPrefix(prefix.trim());
+            }
+        }
+        for (String extension : extensions) {
+            if (!extension.isBlank()) {
+                this.extensions.add(extension.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        for (String path : exactPaths) {
+            if (!path.isBlank()) {
+                this.exactPaths.add(path.trim());
+            }
+        }
+    }
+
+    /**
+     * 정적 리소스 요청인지 확인
+     */
+    public boolean isStaticResource(String path) {
+        if (path == null || path.isEmpty()) {
+            return false;
+        }
+        return exactPaths.contains(path) || matchesPrefix(path) || matchesExtension(path);
+    }
+
+    @Override
+    public Mono<MatchResult> matches(ServerWebExchange exchange) {
+        return isStaticResource(exchange.getRequest().getPath().value())
+                ? MatchResult.match()
+                : MatchResult.notMatch();
+    }
+
+    private boolean matchesPrefix(String path) {
+        Node node = prefixRoot;
+        for (int i = 0; i < path.length(); i++) {
+            node = node.children.get(path.charAt(i));
+            if (node == null) {
+                return false;
+            }
+            if (node.terminal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesExtension(String path) {
+        int dot = path.lastIndexOf('.');
+        if (dot < 0 || dot < path.lastIndexOf('/') || dot == path.length() - 1) {
+            return false;
+        }
+        return extensions.contains(path.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    private void addPrefix(String prefix) {
+        Node node = prefixRoot;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.children.computeIfAbsent(prefix.charAt(i), c -> new Node());
+        }
+        node.terminal = true;
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private boolean terminal;
+    }
+}
\ No newline at end of file
@@ -30,15 +30,19 @@ import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import oww.banking.util.BankingJwtUtil;
+import oww.banking.util.IdentityHeaderVerifier;
+import oww.banking.vo.BankingUser;
 
 @Configuration
 @EnableWebSecurity
 public class BankingSecurityConfig {
 
     private final BankingJwtUtil jwtUtil;
+    private final IdentityHeaderVerifier identityHeaderVerifier;
 
-    public BankingSecurityConfig(BankingJwtUtil jwtUtil) {
+    public BankingSecurityConfig(BankingJwtUtil jwtUtil, IdentityHeaderVerifier identityHeaderVerifier) {
         this.jwtUtil = jwtUtil;
+        this.identityHeaderVerifier = identityHeaderVerifier;
     }
 
     @Bean
@@ -53,6 +57,7 @@ public class BankingSecurityConfig {
             .authorizeHttpRequests(auth -> auth
                     .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                     .requestMatchers("/health", "/actuator/**").permitAll()
+                    .requestMatchers("/admin/**").hasRole("ADMIN")
                     .requestMatchers("/safebox/**").authenticated() 
                     .requestMatchers("/transfer/**").authenticated()     
                     .requestMatchers("/transfer").authenticated()       
@@ -79,7 +84,7 @@ public class BankingSecurityConfig {
                         res.getWriter().write("{\"error\":\"Unauthorized\",\"message\":\"인증이 필요합니다\"}");
                     })
             )
-            .addFilterBefore(new JwtAuthenticationFilter(jwtUtil), UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(new JwtAuthenticationFilter(jwtUtil, identityHeaderVerifier), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
@@ -106,14 +111,18 @@ public class BankingSecurityConfig {
     }
 
     /**
-     * ✅ JWT 쿠키/Authorization 헤더 직접 파싱 전용 필터
+     * ✅ 신원 헤더 / JWT 쿠키·Authorization 헤더 인증 필터
+     * - 게이트웨이 서명 신원 헤더가 유효하면 JWT 파싱 생략
+     * - 검증 결과는 BankingUser 요청 속성으로 저장하여 컨트롤러에서 재사용
      */
     public static class JwtAuthenticationFilter extends OncePerRequestFilter {
     	   private final BankingJwtUtil jwtUtil;
+    	   private final IdentityHeaderVerifier identityHeaderVerifier;
     	   private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
-    	   public JwtAuthenticationFilter(BankingJwtUtil jwtUtil) {
+    	   public JwtAuthenticationFilter(BankingJwtUtil jwtUtil, IdentityHeaderVerifier identityHeaderVerifier) {
     	       this.jwtUtil = jwtUtil;
+    	       this.identityHeaderVerifier = identityHeaderVerifier;
     	   }
 
     	   @Override
@@ -121,71 +130,54 @@ public class BankingSecurityConfig {
     	                                   HttpServletResponse response,
     	                                   FilterChain filterChain) throws ServletException, IOException {
 
-    	       System.out.println("=== Banking JWT Filter 진입: " + request.getRequestURI());
-    	       System.out.println("요청 방식: " + request.getMethod());
+    	       // 1. 게이트웨이 신원 헤더 확인
+    	       BankingJwtUtil.TokenValidationResult identity =
+    	               identityHeaderVerifier.verify(request.getHeader(IdentityHeaderVerifier.HEADER_NAME));
 
-    	       String token = null;
-
-    	       // 1. Authorization 헤더 확인
-    	       String authHeader = request.getHeader("Authorization");
-    	       System.out.println("Authorization 헤더: " + authHeader);
-    	       
-    	       if (authHeader != null && authHeader.startsWith("Bearer ")) {
-    	           token = authHeader.substring(7);
-    	           System.out.println("Bearer 토큰 추출 성공, 길이: " + token.length());
-    	       }
-
-    	       // 2. 쿠키에서 jwt-token 조회
-    	       if (token == null && request.getCookies() != null) {
-    	           System.out.println("Authorization 헤더에 토큰 없음, 쿠키 확인 중...");
-    	           for (Cookie cookie : request.getCookies()) {
-    	               System.out.println("쿠키 발견: " + cookie.getName() + " = " + cookie.getValue());
-    	               if ("jwt-token".equals(cookie.getName())) {
-    	                   token = cookie.getValue();
-    	                   System.out.println("쿠키에서 JWT 토큰 추출 성공");
-    	                   break;
+    	       // 2. 없거나 유효하지 않으면 JWT 직접 검증 (Authorization 헤더 -> 쿠키)
+    	       if (identity == null) {
+    	           String token = null;
+    	           String authHeader = request.getHeader("Authorization");
+    	           if (authHeader != null && authHeader.startsWith("Bearer ")) {
+    	               token = authHeader.substring(7);
+    	           }
+    	           if (token == null && request.getCookies() != null) {
+    	               for (Cookie cookie : request.getCookies()) {
+    	                   if ("jwt-token".equals(cookie.getName())) {
+    	                       token = cookie.getValue();
+    	                       break;
+    	                   }
+    	               }
+    	           }
+    	           if (token != null) {
+    	               try {
+    	                   identity = jwtUtil.validateAndExtract(token);
+    	               } catch (Exception e) {
+    	                   log.warn("JWT 토큰 처리 중 오류: {}", e.getMessage());
     	               }
     	           }
     	       }
 
-    	       if (token != null) {
-    	           System.out.println("토큰 검증 시작...");
-    	           try {
-    	               if (jwtUtil.validateToken(token)) {
-    	                   System.out.println("토큰 검증 성공!");
-    	                   
-    	                   String role = jwtUtil.extractRole(token);
-    	                   String username = jwtUtil.getUsernameFromToken(token);
-    	                   
-    	                   System.out.println("추출된 사용자명: " + username);
-    	                   System.out.println("추출된 역할: " + role);
-    	                   
-    	                   if (role == null) role = "USER";
-
-    	                   if (SecurityContextHolder.getContext().getAuthentication() == null) {
-    	                       SimpleGrantedAuthority authority =
-    	                               new SimpleGrantedAuthority(role.startsWith("ROLE_") ? role : "ROLE_" + role);
-    	                       UsernamePasswordAuthenticationToken authToken =
-    	                               new UsernamePasswordAuthenticationToken(username, null,
-    	                                       Collections.singletonList(authority));
-    	                       SecurityContextHolder.getContext().setAuthentication(authToken);
-    	                       System.out.println("인증 컨텍스트 설정 완료");
-    	                   } else {
-    	                       System.out.println("이미 인증된 사용자");
-    	                   }
-    	               } else {
-    	                   System.out.println("토큰 검증 실패!");
-    	               }
-    	           } catch (Exception e) {
-    	               System.out.println("JWT 토큰 처리 중 오류: " + e.getMessage());
-    	               e.printStackTrace();
+    	       if (identity != null) {
+    	           request.setAttribute(BankingUser.REQUEST_ATTRIBUTE, BankingUser.of(identity));
+    	       }
+
+    	       if (identity != null && identity.isValid()) {
+
+    	           if (SecurityContextHolder.getContext().getAuthentication() == null) {
+    	               String role = identity.getRole() != null ? identity.getRole() : "USER";
+    	               SimpleGrantedAuthority authority =
+    	                       new SimpleGrantedAuthority(role.startsWith("ROLE_") ? role : "ROLE_" + role);
+    	               UsernamePasswordAuthenticationToken authToken =
+    	                       new UsernamePasswordAuthenticationToken(identity.getUsername(), null,
+    	                               Collections.singletonList(authority));
+    	               SecurityContextHolder.getContext().setAuthentication(authToken);
     	           }
     	       } else {
-    	           System.out.println("토큰이 없음 - 인증되지 않은 요청");
+    	           log.debug("인증 정보 없음: {} {}", request.getMethod(), request.getRequestURI());
     	       }
 
-    	       System.out.println("필터 처리 완료, 다음 필터로 진행");
     	       filterChain.doFilter(request, response);
     	   }
     	}
-}
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package oww.banking.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import oww.banking.vo.BankingUser;
+
+/**
+ * 컨트롤러 BankingUser 파라미터 주입
+ * - 인증 필터가 저장한 요청 속성을 그대로 전달 (토큰/헤더/쿠키 재조회 없음)
+ */
+public class BankingUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return BankingUser.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Object user = webRequest.getAttribute(BankingUser.REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return user instanceof BankingUser ? user : BankingUser.anonymous("JWT 토큰이 없습니다");
+    }
+}
\ No newline at end of file
@@ -8,11 +8,10 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ModelAttribute;
 
-import oww.banking.service.AccountService;
-import oww.banking.service.SafeboxService;
-import oww.banking.util.AESUtil;
+import oww.banking.service.RequestAccountSnapshot;
 import oww.banking.vo.AccountVO;
-import oww.banking.vo.SafeboxVO;
+import oww.banking.vo.BankingUser;
+import oww.banking.vo.DashboardSnapshot;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
@@ -21,13 +20,7 @@ import jakarta.servlet.http.HttpSession;
 public class GlobalModelAdvice {
 
     @Autowired
-    private AccountService accountService;
-
-    @Autowired
-    private SafeboxService safeboxService;
-
-    @Autowired
-    private AESUtil aesUtil;
+    private RequestAccountSnapshot accountSnapshot;
 
     @ModelAttribute
     public void addGlobalAttributes(Model model, HttpSession session, Authentication authentication, HttpServletRequest request) {
@@ -41,53 +34,36 @@ public class GlobalModelAdvice {
 
         if (authentication != null && authentication.isAuthenticated()) {
             try {
-                String emailHash = request.getHeader("x-user-email-hash"); // 이메일 해시 사용
+                // 인증 필터에서 검증한 값 우선, 없으면 게이트웨이 전달 헤더 사용
+                Object verified = request.getAttribute(BankingUser.REQUEST_ATTRIBUTE);
+                String emailHash = verified instanceof BankingUser && ((BankingUser) verified).isValid()
+                        ? ((BankingUser) verified).getUserEmailHash()
+                        : request.getHeader("x-user-email-hash"); // 이메일 해시 사용
 
                 if (emailHash == null || emailHash.isEmpty()) {
                     setDefaultGlobalAttributes(model);
                     return;
                 }
 
-                // 계좌 조회 (이메일 해시 기반)
-                AccountVO account = accountService.getAccountByEmailHash(emailHash);
-                boolean hasAccount = (account != null);
-
-                // 세이프박스 조회 (이메일 해시 기반)
-                SafeboxVO safebox = safeboxService.getSafeboxByEmailHash(emailHash);
-                boolean hasSafebox = (safebox != null);
-
-                // 계좌번호 복호화
-                String decryptedAccountNumber = null;
-                if (hasAccount && account.getAccountNumber() != null) {
-                    try {
-                        decryptedAccountNumber = aesUtil.decrypt(account.getAccountNumber());
-                    } catch (Exception e) {
-                        System.out.println("계좌번호 복호화 실패: " + e.getMessage());
-                    }
+                // 계좌/세이프박스/집계 조회 (요청 단위 스냅샷, 컨트롤러와 공유)
+                DashboardSnapshot dashboard = accountSnapshot.getDashboard(emailHash);
+                if (dashboard == null) {
+                    setDefaultGlobalAttributes(model);
+                    return;
                 }
 
-                // 잔액은 BigDecimal 그대로 사용
-                BigDecimal accountBalance = hasAccount && account.getBalance() != null
-                        ? account.getBalance()
-                        : BigDecimal.ZERO;
-
-                BigDecimal safeboxBalance = hasSafebox && safebox.getBalance() != null
-                        ? safebox.getBalance()
-                        : BigDecimal.ZERO;
-
-                BigDecimal totalAssets = accountBalance.add(safeboxBalance);
-                int goalPercent = totalAssets.compareTo(BigDecimal.ZERO) > 0
-                        ? safeboxBalance.multiply(BigDecimal.valueOf(100)).divide(totalAssets, 0, BigDecimal.ROUND_DOWN).intValue()
-                        : 0;
+                // 계좌번호는 스냅샷에서 이미 복호화됨 (AccountNumberCache 사용)
+                AccountVO account = dashboard.getAccount();
+                String decryptedAccountNumber = account != null ? account.getAccountNumber() : null;
 
-                // 모델에 글로벌 속성 추가
-                model.addAttribute("globalHasAccount", hasAccount);
-                model.addAttribute("globalHasSafebox", hasSafebox);
+                // 모델에 글로벌 속성 추가 (잔액/비율은 SQL에서 계산됨)
+                model.addAttribute("globalHasAccount", dashboard.isHasAccount());
+                model.addAttribute("globalHasSafebox", dashboard.isHasSafebox());
                 model.addAttribute("globalAccountNumber", decryptedAccountNumber);
-                model.addAttribute("globalAccountBalance", accountBalance);
-                model.addAttribute("globalSafeboxBalance", safeboxBalance);
-                model.addAttribute("globalTotalAssets", totalAssets);
-                model.addAttribute("goalPercent", goalPercent);
+                model.addAttribute("globalAccountBalance", dashboard.getAccountBalance());
+                model.addAttribute("globalSafeboxBalance", dashboard.getSafeboxBalance());
+                model.addAttribute("globalTotalAssets", dashboard.getTotalAssets());
+                model.addAttribute("goalPercent", dashboard.getGoalPercent());
 
             } catch (Exception e) {
                 System.out.println("GlobalModelAdvice 오류: " + e.getMessage());
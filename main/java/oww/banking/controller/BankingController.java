@@ -1,5 +1,6 @@
 package oww.banking.controller;
 
+import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -13,12 +14,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
-import jakarta.servlet.http.HttpServletRequest;
+import oww.banking.service.AccountLockManager;
 import oww.banking.service.AccountService;
+import oww.banking.service.RequestAccountSnapshot;
 import oww.banking.service.SafeboxService;
-import oww.banking.util.AESUtil;
-import oww.banking.util.BankingJwtUtil;
+import oww.banking.util.AccountNumberCache;
 import oww.banking.vo.AccountVO;
+import oww.banking.vo.BankingUser;
+import oww.banking.vo.DashboardSnapshot;
 import oww.banking.vo.SafeboxVO;
 
 @Controller
@@ -29,9 +32,11 @@ public class BankingController {
     @Autowired
     private SafeboxService safeboxService;
     @Autowired
-    private AESUtil aesUtil;
+    private RequestAccountSnapshot accountSnapshot;
     @Autowired
-    private BankingJwtUtil jwtUtil;
+    private AccountNumberCache accountNumberCache;
+    @Autowired
+    private AccountLockManager accountLockManager;
 
     // 이메일 마스킹 유틸리티 메서드
     private String maskEmail(String email) {
@@ -41,38 +46,25 @@ public class BankingController {
         return email.substring(0, 1) + "***" + email.substring(atIndex);
     }
 
-    // JWT에서 사용자 정보 추출
-    private BankingJwtUtil.TokenValidationResult extractUserFromJwt(HttpServletRequest request) {
-        String authHeader = request.getHeader("Authorization");
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return new BankingJwtUtil.TokenValidationResult(false, "JWT 토큰이 없습니다", null, null, null, null);
-        }
-
-        String token = authHeader.substring(7);
-        return jwtUtil.validateAndExtract(token);
-    }
-
     /**
      * 계좌 정보 API (JWT 기반)
      */
     @GetMapping(value = "/api/account", produces = "application/json")
     @ResponseBody
-    public ResponseEntity<Map<String, Object>> getAccountInfoApi(HttpServletRequest request) {
+    public ResponseEntity<Map<String, Object>> getAccountInfoApi(BankingUser bankingUser) {
         Map<String, Object> response = new HashMap<>();
 
         System.out.println("=== /api/account 요청 수신 (JWT 기반) ===");
 
         try {
-            BankingJwtUtil.TokenValidationResult tokenResult = extractUserFromJwt(request);
-            
-            if (!tokenResult.isValid()) {
+            if (!bankingUser.isValid()) {
                 response.put("success", false);
-                response.put("message", "인증이 필요합니다: " + tokenResult.getMessage());
+                response.put("message", "인증이 필요합니다: " + bankingUser.getMessage());
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
             }
 
-            String userEmailHash = tokenResult.getUserEmailHash();
-            String username = tokenResult.getUsername();
+            String userEmailHash = bankingUser.getUserEmailHash();
+            String username = bankingUser.getUsername();
 
             System.out.println("JWT 인증 성공: " + username);
 
@@ -80,8 +72,11 @@ public class BankingController {
             response.put("userName", username);
             response.put("userEmailHash", userEmailHash);
 
-            // 계좌 정보 조회 (해시 기반)
-            AccountVO account = accountService.getAccountByEmailHash(userEmailHash);
+            // 계좌 + 세이프박스 + 집계 (한 번의 쿼리, GlobalModelAdvice와 공유)
+            DashboardSnapshot dashboard = accountSnapshot.getDashboard(userEmailHash);
+            AccountVO account = dashboard != null ? dashboard.getAccount() : null;
+            SafeboxVO safebox = dashboard != null ? dashboard.getSafebox() : null;
+
             if (account != null) {
                 response.put("hasAccount", true);
                 response.put("accountNumber", account.getAccountNumber());
@@ -90,23 +85,18 @@ public class BankingController {
                 response.put("hasAccount", false);
             }
 
-            // 세이프박스 정보 조회 (해시 기반)
-            try {
-                SafeboxVO safebox = safeboxService.getSafeboxByEmailHash(userEmailHash);
-                if (safebox != null) {
-                    response.put("hasSafebox", true);
-                    response.put("safeboxNumber", "SB-" + safebox.getSafeboxId());
-                    response.put("safeboxBalance", safebox.getBalance());
-                } else {
-                    response.put("hasSafebox", false);
-                    response.put("safeboxBalance", 0);
-                }
-            } catch (Exception e) {
-                System.out.println("세이프박스 정보 조회 오류: " + e.getMessage());
+            if (safebox != null) {
+                response.put("hasSafebox", true);
+                response.put("safeboxNumber", "SB-" + safebox.getSafeboxId());
+                response.put("safeboxBalance", safebox.getBalance());
+            } else {
                 response.put("hasSafebox", false);
                 response.put("safeboxBalance", 0);
             }
 
+            response.put("totalAssets", dashboard != null ? dashboard.getTotalAssets() : BigDecimal.ZERO);
+            response.put("goalPercent", dashboard != null ? dashboard.getGoalPercent() : 0);
+
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
@@ -123,19 +113,17 @@ public class BankingController {
      * 계좌 생성 페이지 (JWT 기반)
      */
     @GetMapping("/createAccount")
-    public String createAccount(Model model, HttpServletRequest request) {
+    public String createAccount(Model model, BankingUser bankingUser) {
         System.out.println("계좌 생성 페이지 호출됨 (JWT 기반)");
 
         try {
-            BankingJwtUtil.TokenValidationResult tokenResult = extractUserFromJwt(request);
-            
-            if (!tokenResult.isValid()) {
-                System.out.println("JWT 인증 실패: " + tokenResult.getMessage());
+            if (!bankingUser.isValid()) {
+                System.out.println("JWT 인증 실패: " + bankingUser.getMessage());
                 return "redirect:/main";
             }
 
-            String userEmailHash = tokenResult.getUserEmailHash();
-            String username = tokenResult.getUsername();
+            String userEmailHash = bankingUser.getUserEmailHash();
+            String username = bankingUser.getUsername();
             
             System.out.println("JWT 인증 성공: " + username);
             
@@ -164,16 +152,14 @@ public class BankingController {
     @ResponseBody
     public ResponseEntity<Map<String, Object>> sendEmailVerification(
             @RequestParam("email") String email,
-            HttpServletRequest request) {
+            BankingUser bankingUser) {
 
         Map<String, Object> response = new HashMap<>();
 
         try {
-            BankingJwtUtil.TokenValidationResult tokenResult = extractUserFromJwt(request);
-            
-            if (!tokenResult.isValid()) {
+            if (!bankingUser.isValid()) {
                 response.put("success", false);
-                response.put("message", "인증이 필요합니다: " + tokenResult.getMessage());
+                response.put("message", "인증이 필요합니다: " + bankingUser.getMessage());
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
             }
 
@@ -216,16 +202,14 @@ public class BankingController {
     public ResponseEntity<Map<String, Object>> verifyEmailCode(
             @RequestParam("email") String email,
             @RequestParam("code") String code, 
-            HttpServletRequest request) {
+            BankingUser bankingUser) {
 
         Map<String, Object> response = new HashMap<>();
 
         try {
-            BankingJwtUtil.TokenValidationResult tokenResult = extractUserFromJwt(request);
-            
-            if (!tokenResult.isValid()) {
+            if (!bankingUser.isValid()) {
                 response.put("success", false);
-                response.put("message", "인증이 필요합니다: " + tokenResult.getMessage());
+                response.put("message", "인증이 필요합니다: " + bankingUser.getMessage());
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
             }
 
@@ -262,16 +246,14 @@ public class BankingController {
             @RequestParam("email") String email, 
             @RequestParam("password") String password,
             @RequestParam("emailCode") String emailCode, 
-            HttpServletRequest request) {
+            BankingUser bankingUser) {
 
         Map<String, Object> response = new HashMap<>();
 
         try {
-            BankingJwtUtil.TokenValidationResult tokenResult = extractUserFromJwt(request);
-            
-            if (!tokenResult.isValid()) {
+            if (!bankingUser.isValid()) {
                 response.put("success", false);
-                response.put("message", "인증이 필요합니다: " + tokenResult.getMessage());
+                response.put("message", "인증이 필요합니다: " + bankingUser.getMessage());
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
             }
 
@@ -302,17 +284,15 @@ public class BankingController {
      * 계좌 생성 성공 페이지 (JWT 기반)
      */
     @GetMapping("/account/success")
-    public String accountSuccess(Model model, HttpServletRequest request) {
+    public String accountSuccess(Model model, BankingUser bankingUser) {
         
         try {
-            BankingJwtUtil.TokenValidationResult tokenResult = extractUserFromJwt(request);
-            
-            if (!tokenResult.isValid()) {
+            if (!bankingUser.isValid()) {
                 return "redirect:http://localhost:8201/banking/main";
             }
             
-            String userEmailHash = tokenResult.getUserEmailHash();
-            String username = tokenResult.getUsername();
+            String userEmailHash = bankingUser.getUserEmailHash();
+            String username = bankingUser.getUsername();
             
             System.out.println("Success 페이지 - username: " + username);
             
@@ -336,60 +316,33 @@ public class BankingController {
      * Banking 메인 페이지 (JWT 기반)
      */
     @GetMapping("/main")
-    public String bankingMain(Model model, HttpServletRequest request) {
+    public String bankingMain(Model model, BankingUser bankingUser) {
         
         try {
-            BankingJwtUtil.TokenValidationResult tokenResult = extractUserFromJwt(request);
-            
-            if (!tokenResult.isValid()) {
-                System.out.println("JWT 인증 실패: " + tokenResult.getMessage());
+            if (!bankingUser.isValid()) {
+                System.out.println("JWT 인증 실패: " + bankingUser.getMessage());
                 return "redirect:http://localhost:8201/";
             }
 
-            String userEmailHash = tokenResult.getUserEmailHash();
-            String userName = tokenResult.getUsername();
+            String userEmailHash = bankingUser.getUserEmailHash();
+            String userName = bankingUser.getUsername();
             
             model.addAttribute("userName", userName);
             model.addAttribute("userEmailHash", userEmailHash);
             model.addAttribute("active", "Main");
 
-            // 계좌/세이프박스 조회 (해시 기반)
-            AccountVO account = accountService.getAccountByEmailHash(userEmailHash);
-            SafeboxVO safebox = safeboxService.getSafeboxByEmailHash(userEmailHash);
+            // 계좌/세이프박스/집계 조회 (요청 단위 스냅샷, GlobalModelAdvice와 공유)
+            DashboardSnapshot dashboard = accountSnapshot.getDashboard(userEmailHash);
+            AccountVO account = dashboard != null ? dashboard.getAccount() : null;
 
-            // 계좌 정보 안전하게 처리
-            long accountBalance = 0;
-            String accountNumber = null;
-            boolean hasAccount = false;
-            
-            if (account != null) {
-                hasAccount = true;
-                accountNumber = account.getAccountNumber();
-                accountBalance = account.getBalance().longValue();
-            }
-
-            // 세이프박스 정보 안전하게 처리
-            long safeboxBalance = 0;
-            boolean hasSafebox = false;
-            
-            if (safebox != null && safebox.getBalance() != null) {
-                hasSafebox = true;
-                safeboxBalance = safebox.getBalance().longValue();
-            }
-
-            long totalAssets = accountBalance + safeboxBalance;
-
-            // 모델에 안전하게 데이터 추가
-            model.addAttribute("accountNumber", accountNumber);
-            model.addAttribute("hasAccount", hasAccount);
-            model.addAttribute("hasSafebox", hasSafebox);
-            model.addAttribute("accountBalance", accountBalance);
-            model.addAttribute("safeboxBalance", safeboxBalance);
-            model.addAttribute("totalAssets", totalAssets);
-
-            // 목표 대비 비율 계산
-            int goalPercent = totalAssets > 0 ? (int)((safeboxBalance * 100) / totalAssets) : 0;
-            model.addAttribute("goalPercent", goalPercent);
+            // 모델에 안전하게 데이터 추가 (잔액 합계/비율은 스냅샷 쿼리에서 계산됨)
+            model.addAttribute("accountNumber", account != null ? account.getAccountNumber() : null);
+            model.addAttribute("hasAccount", account != null);
+            model.addAttribute("hasSafebox", dashboard != null && dashboard.isHasSafebox());
+            model.addAttribute("accountBalance", dashboard != null ? dashboard.getAccountBalance() : BigDecimal.ZERO);
+            model.addAttribute("safeboxBalance", dashboard != null ? dashboard.getSafeboxBalance() : BigDecimal.ZERO);
+            model.addAttribute("totalAssets", dashboard != null ? dashboard.getTotalAssets() : BigDecimal.ZERO);
+            model.addAttribute("goalPercent", dashboard != null ? dashboard.getGoalPercent() : 0);
 
             return "banking_main";
 
@@ -407,4 +360,17 @@ public class BankingController {
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Banking Service is running on port 8203 - JWT Based");
     }
+
+    /**
+     * 운영 통계 (ADMIN 전용)
+     * - 계좌번호 복호화 캐시 적중률, 계좌 잠금 대기/경합 집계
+     */
+    @GetMapping("/admin/stats")
+    @ResponseBody
+    public Map<String, Object> adminStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("accountNumberCache", accountNumberCache.getStats());
+        stats.put("accountLocks", accountLockManager.getStats());
+        return stats;
+    }
 }
\ No newline at end of file
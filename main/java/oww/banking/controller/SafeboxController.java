@@ -16,17 +16,16 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
-import jakarta.servlet.http.HttpServletRequest;
-import oww.banking.service.AccountService;
+import oww.banking.service.RequestAccountSnapshot;
 import oww.banking.service.SafeboxService;
 import oww.banking.service.TransferService;
-import oww.banking.util.AESUtil;
-import oww.banking.util.BankingJwtUtil;
 import oww.banking.vo.AccountVO;
-import oww.banking.vo.SafeboxGoalVO;
+import oww.banking.vo.BankingUser;
+import oww.banking.vo.DashboardSnapshot;
+import oww.banking.vo.SafeboxDepositVO;
+import oww.banking.vo.SafeboxGoalProgressVO;
 import oww.banking.vo.SafeboxHistoryVO;
 import oww.banking.vo.SafeboxVO;
-import jakarta.servlet.http.Cookie;
 
 @Controller
 @RequestMapping("/safebox")
@@ -36,43 +35,7 @@ public class SafeboxController {
     private SafeboxService safeboxService;
 
     @Autowired
-    private AccountService accountService;
-
-
-
-    @Autowired
-    private AESUtil aesUtil;
-
-    @Autowired
-    private BankingJwtUtil jwtUtil;
-
-    
-    private BankingJwtUtil.TokenValidationResult extractUserFromJwt(HttpServletRequest request) {
-        // 1. Authorization 헤더에서 토큰 확인
-        String authHeader = request.getHeader("Authorization");
-        String token = null;
-        
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-        } else {
-            // 2. 쿠키에서 토큰 확인 (헤더에 없을 경우)
-            if (request.getCookies() != null) {
-                for (Cookie cookie : request.getCookies()) {
-                    if ("jwt-token".equals(cookie.getName())) {
-                        token = cookie.getValue();
-                        break;
-                    }
-                }
-            }
-        }
-        
-        if (token == null) {
-            return new BankingJwtUtil.TokenValidationResult(false, "JWT 토큰이 없습니다", null, null, null, null);
-        }
-        
-        return jwtUtil.validateAndExtract(token);
-    }
-    
+    private RequestAccountSnapshot accountSnapshot;
 
     /**
      * 세이프박스 기본 페이지 (리다이렉트)
@@ -86,45 +49,33 @@ public class SafeboxController {
      * 세이프박스 메인 페이지 (JWT 기반)
      */
     @GetMapping("/main")
-    public String safeboxMain(Model model, HttpServletRequest request) {
+    public String safeboxMain(Model model, BankingUser bankingUser) {
         
         try {
-            BankingJwtUtil.TokenValidationResult tokenResult = extractUserFromJwt(request);
-            
-            if (!tokenResult.isValid()) {
-                System.out.println("JWT 인증 실패: " + tokenResult.getMessage());
+            if (!bankingUser.isValid()) {
+                System.out.println("JWT 인증 실패: " + bankingUser.getMessage());
                 return "redirect:http://localhost:8201/";
             }
 
-            String username = tokenResult.getUsername();
-            String userEmailHash = tokenResult.getUserEmailHash();
-
-            // 계좌/세이프박스 조회 (해시 기반)
-            AccountVO account = accountService.getAccountByEmailHash(userEmailHash);
-            SafeboxVO safebox = safeboxService.getSafeboxByEmailHash(userEmailHash);
-
-         // 계좌번호 복호화 
-            String accountNumber = null;
-            if (account != null && account.getAccountNumber() != null) {
-                try {
-                    accountNumber = aesUtil.decrypt(account.getAccountNumber());
-                } catch (Exception e) {
-                    System.out.println("계좌번호 복호화 실패: " + e.getMessage());
-                    accountNumber = null;
-                }
-            }
+            String username = bankingUser.getUsername();
+            String userEmailHash = bankingUser.getUserEmailHash();
 
-            // 잔액 계산
-            BigDecimal accountBalance = account != null ? account.getBalance() : BigDecimal.ZERO;
-            BigDecimal safeboxBalance = safebox != null && safebox.getBalance() != null ? safebox.getBalance() : BigDecimal.ZERO;
-            BigDecimal totalAssets = accountBalance.add(safeboxBalance);
+            // 계좌/세이프박스/집계 조회 (요청 단위 스냅샷, GlobalModelAdvice와 공유)
+            DashboardSnapshot dashboard = accountSnapshot.getDashboard(userEmailHash);
+            AccountVO account = dashboard != null ? dashboard.getAccount() : null;
+            SafeboxVO safebox = dashboard != null ? dashboard.getSafebox() : null;
+
+            // 계좌번호는 스냅샷에서 이미 복호화됨
+            String accountNumber = account != null ? account.getAccountNumber() : null;
 
-            int goalPercent = totalAssets.compareTo(BigDecimal.ZERO) > 0
-                    ? safeboxBalance.multiply(BigDecimal.valueOf(100)).divide(totalAssets, 0, BigDecimal.ROUND_DOWN).intValue()
-                    : 0;
+            // 잔액 합계/비율은 스냅샷 쿼리에서 계산된 값 사용
+            BigDecimal accountBalance = dashboard != null ? dashboard.getAccountBalance() : BigDecimal.ZERO;
+            BigDecimal safeboxBalance = dashboard != null ? dashboard.getSafeboxBalance() : BigDecimal.ZERO;
+            BigDecimal totalAssets = dashboard != null ? dashboard.getTotalAssets() : BigDecimal.ZERO;
+            int goalPercent = dashboard != null ? dashboard.getGoalPercent() : 0;
 
-            // 정기저금 목표 조회 (해시 기반)
-            List<SafeboxGoalVO> goals = safeboxService.getSavingGoals(userEmailHash);
+            // 정기저금 목표 + 진행률 조회 (해시 기반, 목표 수와 무관하게 쿼리 1회)
+            List<SafeboxGoalProgressVO> goals = safeboxService.getSavingGoalsWithProgress(userEmailHash);
 
             // 모델에 데이터 추가
             model.addAttribute("account", account);
@@ -156,28 +107,35 @@ public class SafeboxController {
     @PostMapping("/setAmount")
     @ResponseBody
     public Map<String, Object> setSafeboxAmount(@RequestParam("amount") BigDecimal amount,
-                                                HttpServletRequest request) {
+                                                @RequestParam(value = "goalId", required = false) Integer goalId,
+                                                BankingUser bankingUser) {
         Map<String, Object> result = new HashMap<>();
 
         try {
-            BankingJwtUtil.TokenValidationResult tokenResult = extractUserFromJwt(request);
-            
-            if (!tokenResult.isValid()) {
+            if (!bankingUser.isValid()) {
                 result.put("success", false);
-                result.put("message", "인증이 필요합니다: " + tokenResult.getMessage());
+                result.put("message", "인증이 필요합니다: " + bankingUser.getMessage());
                 return result;
             }
 
-            String userEmailHash = tokenResult.getUserEmailHash();
+            String userEmailHash = bankingUser.getUserEmailHash();
 
-            boolean success = safeboxService.setSafeboxAmount(userEmailHash, amount);
-            AccountVO account = accountService.getAccountByEmailHash(userEmailHash);
-            SafeboxVO safebox = safeboxService.getSafeboxByEmailHash(userEmailHash);
+            // 입금 후 잔액은 입금 호출의 결과로 받음 (재조회 없음)
+            SafeboxDepositVO deposit = safeboxService.deposit(userEmailHash, amount, goalId);
+            // 잔액이 바뀌었을 수 있으므로 이후 조회는 새로 읽음
+            accountSnapshot.invalidate();
 
-            result.put("success", success);
-            result.put("message", success ? "세이프박스 금액이 설정되었습니다." : "세이프박스 설정에 실패했습니다.");
-            result.put("accountBalance", account != null ? account.getBalance() : BigDecimal.ZERO);
-            result.put("safeboxBalance", safebox != null ? safebox.getBalance() : BigDecimal.ZERO);
+            result.put("success", deposit.isSuccess());
+            result.put("message", depositMessage(deposit));
+            if (deposit.isSuccess()) {
+                result.put("accountBalance", deposit.getAccountBalance());
+                result.put("safeboxBalance", deposit.getSafeboxBalance());
+            } else {
+                SafeboxVO safebox = accountSnapshot.getSafebox(userEmailHash);
+                AccountVO account = accountSnapshot.getAccount(userEmailHash);
+                result.put("accountBalance", account != null ? account.getBalance() : BigDecimal.ZERO);
+                result.put("safeboxBalance", safebox != null && safebox.getBalance() != null ? safebox.getBalance() : BigDecimal.ZERO);
+            }
 
         } catch (Exception e) {
             System.out.println("세이프박스 금액 설정 오류: " + e.getMessage());
@@ -189,6 +147,26 @@ public class SafeboxController {
         return result;
     }
 
+    private String depositMessage(SafeboxDepositVO deposit) {
+        if (deposit.isSuccess()) {
+            return "세이프박스 금액이 설정되었습니다.";
+        }
+        Integer code = deposit.getResultCode();
+        if (code != null && code == SafeboxDepositVO.INSUFFICIENT_BALANCE) {
+            return "잔액이 부족합니다.";
+        }
+        if (code != null && code == SafeboxDepositVO.ACCOUNT_NOT_FOUND) {
+            return "계좌가 존재하지 않습니다.";
+        }
+        if (code != null && code == SafeboxDepositVO.GOAL_NOT_FOUND) {
+            return "저축 목표를 찾을 수 없습니다.";
+        }
+        if (code != null && code == SafeboxDepositVO.INVALID_AMOUNT) {
+            return "입금 금액은 0원보다 커야 합니다.";
+        }
+        return "세이프박스 설정에 실패했습니다.";
+    }
+
     /**
      * 정기저금통 설정 (JWT 기반)
      */
@@ -198,19 +176,17 @@ public class SafeboxController {
                                                 @RequestParam("startDate") String startDateStr,
                                                 @RequestParam("endDate") String endDateStr,
                                                 @RequestParam("cycle") String cycle,
-                                                HttpServletRequest request) {
+                                                BankingUser bankingUser) {
         Map<String, Object> result = new HashMap<>();
 
         try {
-            BankingJwtUtil.TokenValidationResult tokenResult = extractUserFromJwt(request);
-            
-            if (!tokenResult.isValid()) {
+            if (!bankingUser.isValid()) {
                 result.put("success", false);
-                result.put("message", "인증이 필요합니다: " + tokenResult.getMessage());
+                result.put("message", "인증이 필요합니다: " + bankingUser.getMessage());
                 return result;
             }
 
-            String userEmailHash = tokenResult.getUserEmailHash();
+            String userEmailHash = bankingUser.getUserEmailHash();
 
             LocalDate startDate = LocalDate.parse(startDateStr);
             LocalDate endDate = LocalDate.parse(endDateStr);
@@ -236,16 +212,14 @@ public class SafeboxController {
      */
     @GetMapping("/goal/{goalId}")
     public String goalDetail(@PathVariable("goalId") int goalId, Model model,
-                             HttpServletRequest request) {
+                             BankingUser bankingUser) {
         
         try {
-            BankingJwtUtil.TokenValidationResult tokenResult = extractUserFromJwt(request);
-            
-            if (!tokenResult.isValid()) {
+            if (!bankingUser.isValid()) {
                 return "redirect:http://localhost:8201/";
             }
 
-            String userEmailHash = tokenResult.getUserEmailHash();
+            String userEmailHash = bankingUser.getUserEmailHash();
 
             List<SafeboxHistoryVO> history = safeboxService.getSavingHistory(goalId);
             BigDecimal totalSaved = safeboxService.getTotalSavedAmount(goalId);
@@ -270,16 +244,14 @@ public class SafeboxController {
      */
     @GetMapping("/history")
     public String safeboxHistory(@RequestParam(value = "goalId", required = false) Integer goalId, 
-                                 Model model, HttpServletRequest request) {
+                                 Model model, BankingUser bankingUser) {
         
         try {
-            BankingJwtUtil.TokenValidationResult tokenResult = extractUserFromJwt(request);
-            
-            if (!tokenResult.isValid()) {
+            if (!bankingUser.isValid()) {
                 return "redirect:http://localhost:8201/";
             }
 
-            String userEmailHash = tokenResult.getUserEmailHash();
+            String userEmailHash = bankingUser.getUserEmailHash();
             List<SafeboxHistoryVO> history;
 
             if (goalId != null) {
@@ -304,23 +276,21 @@ public class SafeboxController {
      */
     @GetMapping("/info")
     @ResponseBody
-    public Map<String, Object> getSafeboxInfo(HttpServletRequest request) {
+    public Map<String, Object> getSafeboxInfo(BankingUser bankingUser) {
         Map<String, Object> result = new HashMap<>();
         try {
             // JWT 검증
-            BankingJwtUtil.TokenValidationResult tokenResult = extractUserFromJwt(request);
-
-            if (!tokenResult.isValid()) {
+            if (!bankingUser.isValid()) {
                 result.put("success", false);
-                result.put("message", "인증이 필요합니다: " + tokenResult.getMessage());
+                result.put("message", "인증이 필요합니다: " + bankingUser.getMessage());
                 return result;
             }
 
-            String userEmailHash = tokenResult.getUserEmailHash();
+            String userEmailHash = bankingUser.getUserEmailHash();
 
-            // 계좌 & 세이프박스 조회
-            AccountVO account = accountService.getAccountByEmailHash(userEmailHash);
-            SafeboxVO safebox = safeboxService.getSafeboxByEmailHash(userEmailHash);
+            // 계좌 & 세이프박스 조회 (요청 단위 스냅샷)
+            AccountVO account = accountSnapshot.getAccount(userEmailHash);
+            SafeboxVO safebox = accountSnapshot.getSafebox(userEmailHash);
 
             BigDecimal accountBalance = account != null ? account.getBalance() : BigDecimal.ZERO;
             BigDecimal safeboxBalance = safebox != null && safebox.getBalance() != null ? safebox.getBalance() : BigDecimal.ZERO;
@@ -1,5 +1,7 @@
 package oww.banking.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.List;
@@ -7,6 +9,7 @@ import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -15,23 +18,26 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
 import oww.banking.service.AccountService;
+import oww.banking.service.RequestAccountSnapshot;
 import oww.banking.service.SafeboxService;
 import oww.banking.service.TransferService;
-import oww.banking.util.AESUtil;
-import oww.banking.util.BankingJwtUtil;
 import oww.banking.vo.AccountVO;
-import oww.banking.vo.SafeboxVO;
+import oww.banking.vo.BankingUser;
+import oww.banking.vo.DashboardSnapshot;
 import oww.banking.vo.TransferVO;
+import oww.banking.vo.TransferHistoryPageVO;
 import oww.banking.vo.TransferHistoryVO;
-import jakarta.servlet.http.Cookie;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+@Slf4j
 @Controller
 public class TransferController {
 
@@ -45,52 +51,23 @@ public class TransferController {
     private SafeboxService safeboxService;
 
     @Autowired
-    private AESUtil aesUtil;
+    private RequestAccountSnapshot accountSnapshot;
 
     @Autowired
-    private BankingJwtUtil jwtUtil;
-
-    // JWT에서 사용자 정보 추출
-    private BankingJwtUtil.TokenValidationResult extractUserFromJwt(HttpServletRequest request) {
-        // 1. Authorization 헤더에서 토큰 확인
-        String authHeader = request.getHeader("Authorization");
-        String token = null;
-        
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-        } else {
-            // 2. 쿠키에서 토큰 확인 (헤더에 없을 경우)
-            if (request.getCookies() != null) {
-                for (Cookie cookie : request.getCookies()) {
-                    if ("jwt-token".equals(cookie.getName())) {
-                        token = cookie.getValue();
-                        break;
-                    }
-                }
-            }
-        }
-        
-        if (token == null) {
-            return new BankingJwtUtil.TokenValidationResult(false, "JWT 토큰이 없습니다", null, null, null, null);
-        }
-        
-        return jwtUtil.validateAndExtract(token);
-    }
+    private ObjectMapper objectMapper;
 
     @PostMapping("/check-account")
     @ResponseBody
     public ResponseEntity<Map<String, Object>> checkAccount(
             @RequestParam String accountNumber,
-            HttpServletRequest request) {
+            BankingUser bankingUser) {
         
         Map<String, Object> response = new HashMap<>();
         
         try {
-            BankingJwtUtil.TokenValidationResult tokenResult = extractUserFromJwt(request);
-            
-            if (!tokenResult.isValid()) {
+            if (!bankingUser.isValid()) {
                 response.put("success", false);
-                response.put("message", "인증이 필요합니다: " + tokenResult.getMessage());
+                response.put("message", "인증이 필요합니다: " + bankingUser.getMessage());
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
             }
 
@@ -116,40 +93,35 @@ public class TransferController {
     
     /** 이체 1단계 - 내 계좌 정보 표시 (JWT 기반) */
     @GetMapping("/transfer_1")
-    public String transferStep1(Model model, HttpServletRequest request) {
+    public String transferStep1(Model model, BankingUser bankingUser) {
         
         try {
-            BankingJwtUtil.TokenValidationResult tokenResult = extractUserFromJwt(request);
-            
-            if (!tokenResult.isValid()) {
-                System.out.println("JWT 인증 실패: " + tokenResult.getMessage());
+            if (!bankingUser.isValid()) {
+                System.out.println("JWT 인증 실패: " + bankingUser.getMessage());
                 return "redirect:http://localhost:8201/";
             }
 
-            String username = tokenResult.getUsername();
-            String userEmailHash = tokenResult.getUserEmailHash();
+            String username = bankingUser.getUsername();
+            String userEmailHash = bankingUser.getUserEmailHash();
 
-            // 계좌 조회 (해시 기반)
-            TransferVO accountInfo = transferService.getAccountInfoByEmailHash(userEmailHash);
-            SafeboxVO safebox = safeboxService.getSafeboxByEmailHash(userEmailHash);
+            // 계좌/세이프박스/집계 조회 (요청 단위 스냅샷, GlobalModelAdvice와 공유)
+            DashboardSnapshot dashboard = accountSnapshot.getDashboard(userEmailHash);
+            AccountVO accountInfo = dashboard != null ? dashboard.getAccount() : null;
 
-            BigDecimal accountBalance = accountInfo != null && accountInfo.getAmount() != null
-                    ? accountInfo.getAmount() : BigDecimal.ZERO;
-            BigDecimal safeboxBalance = safebox != null && safebox.getBalance() != null
-                    ? safebox.getBalance() : BigDecimal.ZERO;
-            BigDecimal totalAssets = accountBalance.add(safeboxBalance);
-            int goalPercent = totalAssets.compareTo(BigDecimal.ZERO) > 0
-                    ? safeboxBalance.multiply(BigDecimal.valueOf(100)).divide(totalAssets, 0, BigDecimal.ROUND_DOWN).intValue()
-                    : 0;
+            // 잔액 합계/비율은 스냅샷 쿼리에서 계산된 값 사용
+            BigDecimal accountBalance = dashboard != null ? dashboard.getAccountBalance() : BigDecimal.ZERO;
+            BigDecimal safeboxBalance = dashboard != null ? dashboard.getSafeboxBalance() : BigDecimal.ZERO;
+            BigDecimal totalAssets = dashboard != null ? dashboard.getTotalAssets() : BigDecimal.ZERO;
+            int goalPercent = dashboard != null ? dashboard.getGoalPercent() : 0;
 
             model.addAttribute("account", accountInfo);
-            model.addAttribute("accountNumber", accountInfo != null ? accountInfo.getFromAccountNumber() : null);
+            model.addAttribute("accountNumber", accountInfo != null ? accountInfo.getAccountNumber() : null);
             model.addAttribute("balance", accountBalance);
             model.addAttribute("accountBalance", accountBalance);
             model.addAttribute("safeboxBalance", safeboxBalance);
             model.addAttribute("totalAssets", totalAssets);
             model.addAttribute("hasAccount", accountInfo != null);
-            model.addAttribute("hasSafebox", safebox != null);
+            model.addAttribute("hasSafebox", dashboard != null && dashboard.isHasSafebox());
             model.addAttribute("userName", username);
             model.addAttribute("userEmailHash", userEmailHash);
             model.addAttribute("goalPercent", goalPercent);
@@ -166,38 +138,33 @@ public class TransferController {
 
     /** 이체 2단계 (JWT 기반) */
     @GetMapping("/transfer_2")
-    public String transferStep2(Model model, HttpServletRequest request) {
+    public String transferStep2(Model model, BankingUser bankingUser) {
         
         try {
-            BankingJwtUtil.TokenValidationResult tokenResult = extractUserFromJwt(request);
-            
-            if (!tokenResult.isValid()) {
+            if (!bankingUser.isValid()) {
                 return "redirect:/";
             }
 
-            String username = tokenResult.getUsername();
-            String userEmailHash = tokenResult.getUserEmailHash();
+            String username = bankingUser.getUsername();
+            String userEmailHash = bankingUser.getUserEmailHash();
 
-            TransferVO accountInfo = transferService.getAccountInfoByEmailHash(userEmailHash);
-            SafeboxVO safebox = safeboxService.getSafeboxByEmailHash(userEmailHash);
+            DashboardSnapshot dashboard = accountSnapshot.getDashboard(userEmailHash);
+            AccountVO accountInfo = dashboard != null ? dashboard.getAccount() : null;
 
-            BigDecimal accountBalance = accountInfo != null && accountInfo.getAmount() != null
-                    ? accountInfo.getAmount() : BigDecimal.ZERO;
-            BigDecimal safeboxBalance = safebox != null && safebox.getBalance() != null
-                    ? safebox.getBalance() : BigDecimal.ZERO;
-            BigDecimal totalAssets = accountBalance.add(safeboxBalance);
-            int goalPercent = totalAssets.compareTo(BigDecimal.ZERO) > 0
-                    ? safeboxBalance.multiply(BigDecimal.valueOf(100)).divide(totalAssets, 0, BigDecimal.ROUND_DOWN).intValue()
-                    : 0;
+            // 잔액 합계/비율은 스냅샷 쿼리에서 계산된 값 사용
+            BigDecimal accountBalance = dashboard != null ? dashboard.getAccountBalance() : BigDecimal.ZERO;
+            BigDecimal safeboxBalance = dashboard != null ? dashboard.getSafeboxBalance() : BigDecimal.ZERO;
+            BigDecimal totalAssets = dashboard != null ? dashboard.getTotalAssets() : BigDecimal.ZERO;
+            int goalPercent = dashboard != null ? dashboard.getGoalPercent() : 0;
 
             model.addAttribute("account", accountInfo);
-            model.addAttribute("accountNumber", accountInfo != null ? accountInfo.getFromAccountNumber() : null);
+            model.addAttribute("accountNumber", accountInfo != null ? accountInfo.getAccountNumber() : null);
             model.addAttribute("balance", accountBalance);
             model.addAttribute("accountBalance", accountBalance);
             model.addAttribute("safeboxBalance", safeboxBalance);
             model.addAttribute("totalAssets", totalAssets);
             model.addAttribute("hasAccount", accountInfo != null);
-            model.addAttribute("hasSafebox", safebox != null);
+            model.addAttribute("hasSafebox", dashboard != null && dashboard.isHasSafebox());
             model.addAttribute("userName", username);
             model.addAttribute("userEmailHash", userEmailHash);
             model.addAttribute("goalPercent", goalPercent);
@@ -220,20 +187,18 @@ public class TransferController {
         @RequestParam("memo") String memo,
         @RequestParam("password") String password,
         @RequestParam(value = "recipientName", required = false) String recipientName,
-        HttpServletRequest request) {
+        BankingUser bankingUser) {
         
         Map<String, Object> response = new HashMap<>();
         
         try {
-            BankingJwtUtil.TokenValidationResult tokenResult = extractUserFromJwt(request);
-            
-            if (!tokenResult.isValid()) {
+            if (!bankingUser.isValid()) {
                 response.put("success", false);
                 response.put("message", "인증이 필요합니다.");
                 return response;
             }
             
-            String userEmailHash = tokenResult.getUserEmailHash();
+            String userEmailHash = bankingUser.getUserEmailHash();
             TransferVO fromAccount = transferService.getAccountInfoByEmailHash(userEmailHash);
             
             if (fromAccount == null) {
@@ -246,8 +211,26 @@ public class TransferController {
             String result = transferService.processTransferByEmailHash(
                 userEmailHash, toAccountNumber, amount, memo, password
             );
+            // 잔액이 바뀌었을 수 있으므로 이후 조회는 새로 읽음
+            accountSnapshot.invalidate();
             
-            if (result == null || (!result.contains("오류") && !result.contains("실패") && !result.contains("부족"))) {
+            if (TransferService.RESULT_UNKNOWN.equals(result)) {
+                // 처리 중일 수 있으므로 성공/실패로 단정하지 않음
+                response.put("success", false);
+                response.put("pending", true);
+                response.put("message", result);
+                return response;
+            }
+
+            if (TransferService.RESULT_BUSY.equals(result)) {
+                // 적용 전에 거절되었으므로 재시도 가능
+                response.put("success", false);
+                response.put("retryable", true);
+                response.put("message", result);
+                return response;
+            }
+
+            if (TransferService.RESULT_SUCCESS.equals(result)) {
                 // 성공
                 response.put("success", true);
                 response.put("message", "이체가 완료되었습니다.");
@@ -279,29 +262,24 @@ public class TransferController {
                                 @RequestParam(required = false) Integer amount,
                                 @RequestParam(required = false) String memo,
                                 Model model,
-                                HttpServletRequest request) {
+                                BankingUser bankingUser) {
 
         try {
-            BankingJwtUtil.TokenValidationResult tokenResult = extractUserFromJwt(request);
-            
-            if (!tokenResult.isValid()) {
+            if (!bankingUser.isValid()) {
                 return "redirect:http://localhost:8201/";
             }
 
-            String username = tokenResult.getUsername();
-            String userEmailHash = tokenResult.getUserEmailHash();
+            String username = bankingUser.getUsername();
+            String userEmailHash = bankingUser.getUserEmailHash();
 
-            TransferVO accountInfo = transferService.getAccountInfoByEmailHash(userEmailHash);
-            SafeboxVO safebox = safeboxService.getSafeboxByEmailHash(userEmailHash);
+            DashboardSnapshot dashboard = accountSnapshot.getDashboard(userEmailHash);
+            AccountVO accountInfo = dashboard != null ? dashboard.getAccount() : null;
 
-            BigDecimal accountBalance = accountInfo != null && accountInfo.getAmount() != null
-                    ? accountInfo.getAmount() : BigDecimal.ZERO;
-            BigDecimal safeboxBalance = safebox != null && safebox.getBalance() != null
-                    ? safebox.getBalance() : BigDecimal.ZERO;
-            BigDecimal totalAssets = accountBalance.add(safeboxBalance);
-            int goalPercent = totalAssets.compareTo(BigDecimal.ZERO) > 0
-                    ? safeboxBalance.multiply(BigDecimal.valueOf(100)).divide(totalAssets, 0, BigDecimal.ROUND_DOWN).intValue()
-                    : 0;
+            // 잔액 합계/비율은 스냅샷 쿼리에서 계산된 값 사용
+            BigDecimal accountBalance = dashboard != null ? dashboard.getAccountBalance() : BigDecimal.ZERO;
+            BigDecimal safeboxBalance = dashboard != null ? dashboard.getSafeboxBalance() : BigDecimal.ZERO;
+            BigDecimal totalAssets = dashboard != null ? dashboard.getTotalAssets() : BigDecimal.ZERO;
+            int goalPercent = dashboard != null ? dashboard.getGoalPercent() : 0;
 
             String transferTime = java.time.LocalDateTime.now()
                     .format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
@@ -313,13 +291,13 @@ public class TransferController {
             model.addAttribute("transferTime", transferTime);
 
             model.addAttribute("account", accountInfo);
-            model.addAttribute("accountNumber", accountInfo != null ? accountInfo.getFromAccountNumber() : null);
+            model.addAttribute("accountNumber", accountInfo != null ? accountInfo.getAccountNumber() : null);
             model.addAttribute("balance", accountBalance);
             model.addAttribute("accountBalance", accountBalance);
             model.addAttribute("safeboxBalance", safeboxBalance);
             model.addAttribute("totalAssets", totalAssets);
             model.addAttribute("hasAccount", accountInfo != null);
-            model.addAttribute("hasSafebox", safebox != null);
+            model.addAttribute("hasSafebox", dashboard != null && dashboard.isHasSafebox());
             model.addAttribute("userName", username);
             model.addAttribute("userEmailHash", userEmailHash);
             model.addAttribute("goalPercent", goalPercent);
@@ -336,15 +314,13 @@ public class TransferController {
 
     /** 거래내역 (JWT 기반) */
     @GetMapping("/history")
-    public String transferHistory(Model model, HttpServletRequest request) {
+    public String transferHistory(Model model, BankingUser bankingUser) {
         try {
-            BankingJwtUtil.TokenValidationResult tokenResult = extractUserFromJwt(request);
-            
-            if (!tokenResult.isValid()) {
+            if (!bankingUser.isValid()) {
                 return "redirect:http://localhost:8201/";
             }
 
-            String userEmailHash = tokenResult.getUserEmailHash();
+            String userEmailHash = bankingUser.getUserEmailHash();
 
             TransferVO accountInfo = transferService.getAccountInfoByEmailHash(userEmailHash);
             if (accountInfo == null) {
@@ -356,6 +332,7 @@ public class TransferController {
 
             model.addAttribute("account", accountInfo);
             model.addAttribute("history", history);
+            model.addAttribute("monthlySummary", transferService.getMonthlySummary(userEmailHash, 6));
             
             // JavaScript에서 사용할 수 있도록 JSON 문자열로 변환
             ObjectMapper objectMapper = new ObjectMapper();
@@ -392,20 +369,18 @@ public class TransferController {
     public ResponseEntity<Map<String, Object>> getTransferHistoryData(
             @RequestParam(required = false) String startDate,
             @RequestParam(required = false) String endDate,
-            HttpServletRequest request) {
+            BankingUser bankingUser) {
 
         Map<String, Object> response = new HashMap<>();
 
         try {
-            BankingJwtUtil.TokenValidationResult tokenResult = extractUserFromJwt(request);
-            
-            if (!tokenResult.isValid()) {
+            if (!bankingUser.isValid()) {
                 response.put("success", false);
-                response.put("message", "인증이 필요합니다: " + tokenResult.getMessage());
+                response.put("message", "인증이 필요합니다: " + bankingUser.getMessage());
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
             }
 
-            String userEmailHash = tokenResult.getUserEmailHash();
+            String userEmailHash = bankingUser.getUserEmailHash();
 
             TransferVO accountInfo = transferService.getAccountInfoByEmailHash(userEmailHash);
 
@@ -425,6 +400,7 @@ public class TransferController {
             response.put("success", true);
             response.put("history", history);
             response.put("account", accountInfo);
+            response.put("summary", transferService.getMonthlySummary(userEmailHash, 6));
 
             return ResponseEntity.ok(response);
 
@@ -436,6 +412,72 @@ public class TransferController {
         }
     }
 
+    /** AJAX 거래내역 페이지 조회 (keyset 커서, JWT 기반) */
+    @GetMapping("/history-data/page")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getTransferHistoryPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            BankingUser bankingUser) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            if (!bankingUser.isValid()) {
+                response.put("success", false);
+                response.put("message", "인증이 필요합니다: " + bankingUser.getMessage());
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+            }
+
+            TransferHistoryPageVO page = transferService.getTransferHistoryPage(bankingUser.getUserEmailHash(), cursor, size);
+
+            response.put("success", true);
+            response.put("history", page.getItems());
+            response.put("nextCursor", page.getNextCursor());
+            response.put("hasNext", page.isHasNext());
+
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            log.error("AJAX 거래내역 페이지 조회 오류", e);
+            response.put("success", false);
+            response.put("message", "거래내역 조회 중 오류가 발생했습니다.");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /** 거래내역 전체 스트리밍 (JSON 배열을 한 건씩 기록, 대용량 내보내기용) */
+    @GetMapping("/history-data/stream")
+    public ResponseEntity<StreamingResponseBody> streamTransferHistory(BankingUser bankingUser) {
+        if (!bankingUser.isValid()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        String userEmailHash = bankingUser.getUserEmailHash();
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                transferService.streamTransferHistoryByEmailHash(userEmailHash, h -> {
+                    try {
+                        generator.writeObject(h);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
     /** 계좌번호 포맷팅 헬퍼 */
     private String formatAccountNumber(String accountNumber) {
         if (accountNumber != null && accountNumber.length() >= 12) {
@@ -449,4 +491,4 @@ public class TransferController {
     
    
     
-}
\ No newline at end of file
+}
\ No newline at end of file
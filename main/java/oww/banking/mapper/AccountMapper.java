@@ -1,6 +1,7 @@
 package oww.banking.mapper;
 
 import oww.banking.vo.AccountVO;
+import oww.banking.vo.DashboardSnapshot;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
@@ -86,5 +87,12 @@ public interface AccountMapper {
     AccountVO findAccountByEmailHash(@Param("emailHash") String emailHash);
     boolean existsByEmailHash(@Param("emailHash") String emailHash);
 
+    /**
+     * 해시로 계좌 + 세이프박스 + 목표 집계 동시 조회 (페이지당 1회)
+     * @param emailHash 사용자 이메일 해시
+     * @return 대시보드 스냅샷 (사용자가 없으면 null)
+     */
+    DashboardSnapshot findDashboardByEmailHash(@Param("emailHash") String emailHash);
+
     
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package oww.banking.mapper;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import oww.banking.vo.EmailOutboxVO;
+
+@Mapper
+public interface EmailOutboxMapper {
+
+    // 발송 대기 메일 저장 (outboxId는 시퀀스로 채워짐)
+    int insertOutbox(EmailOutboxVO outbox);
+
+    EmailOutboxVO findOutboxById(@Param("outboxId") Long outboxId);
+
+    // 발송 시각이 된 대기 메일 ID 조회 (오래된 순)
+    List<Long> findDueOutboxIds(@Param("limit") int limit);
+
+    // 발송 선점: PENDING -> SENDING, 영향받은 행 수 반환 (0이면 다른 워커가 선점)
+    int claimOutbox(@Param("outboxId") Long outboxId);
+
+    // 발송 완료 (수신 주소/인증번호 삭제)
+    int markSent(@Param("outboxId") Long outboxId);
+
+    // 발송 실패 후 재시도 예약
+    int markRetry(@Param("outboxId") Long outboxId,
+                  @Param("nextAttemptAt") Timestamp nextAttemptAt,
+                  @Param("lastError") String lastError);
+
+    // 재시도 한도 초과 또는 만료 (수신 주소/인증번호 삭제)
+    int markFailed(@Param("outboxId") Long outboxId,
+                   @Param("lastError") String lastError);
+
+    // 발송 중 종료된 인스턴스가 선점한 메일을 다시 대기 상태로
+    int releaseStale(@Param("staleSeconds") int staleSeconds);
+
+    // 보관 기간이 지난 SENT/FAILED 메일 삭제
+    int deleteFinishedBefore(@Param("retentionDays") int retentionDays);
+}
\ No newline at end of file
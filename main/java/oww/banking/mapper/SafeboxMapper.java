@@ -1,12 +1,18 @@
 package oww.banking.mapper;
 
 import oww.banking.vo.SafeboxVO;
+import oww.banking.vo.SafeboxAutoSavingPartitionVO;
+import oww.banking.vo.SafeboxAutoSavingTarget;
+import oww.banking.vo.SafeboxDepositVO;
+import oww.banking.vo.SafeboxGoalProgressVO;
 import oww.banking.vo.SafeboxGoalVO;
 import oww.banking.vo.SafeboxHistoryVO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -36,6 +42,13 @@ public interface SafeboxMapper {
      */
     void updateSafeboxBalance(Map<String, Object> params);
 
+    /**
+     * 세이프박스 입금 (delta 기반, 한 번의 라운드트립)
+     * - 계좌 조건부 출금(잔액 >= 금액) -> 세이프박스 가산(없으면 생성) -> goalId가 있으면 저축 내역
+     * - 결과 코드와 입금 후 잔액은 OUT 파라미터로 채워짐
+     */
+    void depositToSafebox(SafeboxDepositVO deposit);
+
     /**
      * emailHash로 세이프박스 존재 여부 확인
      */
@@ -59,6 +72,11 @@ public interface SafeboxMapper {
      */
     SafeboxGoalVO findGoalById(@Param("goalId") int goalId);
 
+    /**
+     * emailHash 기반 목표 + 누적 저축액/진행률 조회 (GROUP BY 한 번)
+     */
+    List<SafeboxGoalProgressVO> findGoalProgressByEmailHash(@Param("emailHash") String emailHash);
+
 
     // ================= SafeboxHistory =================
 
@@ -87,4 +105,93 @@ public interface SafeboxMapper {
      * 필요 시 Mapper XML에서 JOIN 사용
      */
     BigDecimal getTotalAssetsByEmailHash(@Param("emailHash") String emailHash);
-}
+
+
+    // ================= 자동 저축 배치 =================
+
+    /**
+     * 자동 저축 대상 스트리밍 조회 (파티션 단위, goal_id 오름차순, 트랜잭션 안에서만 사용)
+     * - 누적 저축액은 safebox_history GROUP BY 한 번으로 함께 조회
+     * - runDate에 이미 자동 저축한 목표는 제외 (재실행 시 중복 저축 방지, 수동 입금은 영향 없음)
+     */
+    Cursor<SafeboxAutoSavingTarget> streamAutoSavingTargets(@Param("runDate") LocalDate runDate,
+                                                            @Param("partitions") int partitions,
+                                                            @Param("partitionNo") int partitionNo,
+                                                            @Param("afterGoalId") int afterGoalId);
+
+    /**
+     * 파티션 임대 보유 확인 (남은 임대 시간이 절반 이상일 때만 1)
+     */
+    int countOwnedAutoSavingLease(@Param("runDate") LocalDate runDate,
+                                  @Param("partitionNo") int partitionNo,
+                                  @Param("owner") String owner,
+                                  @Param("leaseSeconds") int leaseSeconds);
+
+    /**
+     * 자동 저축 목표 1건 적용 (조건부 출금 -> 세이프박스 입금 -> 저축 내역)
+     * - 잔액 부족이거나 같은 날 이미 자동 저축된 목표는 건너뜀
+     * - SQL 문장이 고정되어 있으므로 BATCH 실행기로 청크 단위 전송
+     */
+    void applyAutoSavingTarget(@Param("t") SafeboxAutoSavingTarget target,
+                               @Param("runDate") LocalDate runDate);
+
+    /**
+     * 파티션의 goal_id 범위에서 실행일에 자동 저축된 건수
+     */
+    int countAutoSavedInRange(@Param("runDate") LocalDate runDate,
+                              @Param("partitions") int partitions,
+                              @Param("partitionNo") int partitionNo,
+                              @Param("fromGoalId") int fromGoalId,
+                              @Param("toGoalId") int toGoalId);
+
+    /**
+     * 실행일 파티션 생성 (이미 있으면 무시)
+     */
+    void createAutoSavingPartitions(@Param("runDate") LocalDate runDate,
+                                    @Param("partitions") int partitions);
+
+    /**
+     * 끝나지 않은 파티션이 있는 실행일 (장애 복구용)
+     */
+    List<LocalDate> findUnfinishedAutoSavingRunDates();
+
+    /**
+     * 임대 가능한 파티션 (미완료 + 소유자 없음 또는 임대 만료)
+     */
+    List<SafeboxAutoSavingPartitionVO> findClaimableAutoSavingPartitions(@Param("runDate") LocalDate runDate);
+
+    /**
+     * 파티션 임대 (조건부 갱신, 0이면 다른 노드가 먼저 임대)
+     */
+    int claimAutoSavingPartition(@Param("runDate") LocalDate runDate,
+                                 @Param("partitionNo") int partitionNo,
+                                 @Param("owner") String owner,
+                                 @Param("leaseSeconds") int leaseSeconds);
+
+    /**
+     * 임대 연장 (0이면 임대를 잃음)
+     */
+    int renewAutoSavingLease(@Param("runDate") LocalDate runDate,
+                             @Param("partitionNo") int partitionNo,
+                             @Param("owner") String owner,
+                             @Param("leaseSeconds") int leaseSeconds);
+
+    /**
+     * 진행 상황 저장 (lastGoalId는 증가 방향으로만 갱신)
+     */
+    void updateAutoSavingProgress(@Param("runDate") LocalDate runDate,
+                                  @Param("partitionNo") int partitionNo,
+                                  @Param("lastGoalId") int lastGoalId,
+                                  @Param("appliedCount") int appliedCount);
+
+    void finishAutoSavingPartition(@Param("runDate") LocalDate runDate,
+                                   @Param("partitionNo") int partitionNo,
+                                   @Param("owner") String owner);
+
+    /**
+     * 임대 반납 (실패 시 다른 노드가 바로 이어받도록)
+     */
+    void releaseAutoSavingPartition(@Param("runDate") LocalDate runDate,
+                                    @Param("partitionNo") int partitionNo,
+                                    @Param("owner") String owner);
+}
\ No newline at end of file
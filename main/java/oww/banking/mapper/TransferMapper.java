@@ -1,12 +1,15 @@
 package oww.banking.mapper;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 import oww.banking.vo.TransferVO;
 import oww.banking.vo.TransferHistoryVO;
+import oww.banking.vo.TransferMonthlySummaryVO;
 
 public interface TransferMapper {
 
@@ -23,7 +26,23 @@ public interface TransferMapper {
 
     void insertTransfer(TransferVO transfer);
 
-    void insertTransferHistory(TransferHistoryVO history);
+    /* ===== 원자적 이체 (delta 기반) ===== */
+    // 조건부 출금: 잔액이 충분할 때만 차감, 영향받은 행 수 반환 (0이면 잔액 부족)
+    int debitBalance(@Param("accountId") Integer accountId,
+                     @Param("amount") BigDecimal amount);
+
+    // 계좌 행 잠금 (SELECT ... FOR UPDATE), 계좌가 없으면 null
+    Integer lockAccount(@Param("accountId") Integer accountId);
+
+    // 입금: 현재 잔액에 금액 가산
+    int creditBalance(@Param("accountId") Integer accountId,
+                      @Param("amount") BigDecimal amount);
+
+    // 이체 1건 + 거래내역 2건을 한 번의 호출로 저장 (transferId는 OUT 파라미터로 채워짐)
+    void insertTransferWithHistory(TransferVO transfer);
+
+    // 여러 건의 이체 + 거래내역을 한 번의 호출로 저장 (묶음 입금용)
+    void insertTransfersWithHistory(@Param("transfers") List<TransferVO> transfers);
 
     List<TransferHistoryVO> getTransferHistoryByAccountId(Integer accountId);
 
@@ -44,4 +63,20 @@ public interface TransferMapper {
 
     // 이메일 해시로 거래내역 조회
     List<TransferHistoryVO> getTransferHistoryByEmailHash(@Param("emailHash") String emailHash);
+
+    // 이메일 해시로 거래내역 조회 (상대방 계좌/이름을 외부 조인으로 조회)
+    List<TransferHistoryVO> getTransferHistoryByEmailHashJoined(@Param("emailHash") String emailHash);
+
+    // 이메일 해시로 거래내역 keyset 페이지 조회 (커서 이후 limit 건)
+    List<TransferHistoryVO> getTransferHistoryPageByEmailHash(@Param("emailHash") String emailHash,
+                                                              @Param("cursorDate") LocalDateTime cursorDate,
+                                                              @Param("cursorTxId") Integer cursorTxId,
+                                                              @Param("limit") int limit);
+
+    // 이메일 해시로 거래내역 스트리밍 조회 (트랜잭션 안에서만 사용)
+    Cursor<TransferHistoryVO> streamTransferHistoryByEmailHash(@Param("emailHash") String emailHash);
+
+    // 이메일 해시로 월간 요약 조회 (최근 months개월)
+    List<TransferMonthlySummaryVO> getMonthlySummaryByEmailHash(@Param("emailHash") String emailHash,
+                                                                @Param("months") int months);
 }
@@ -0,0 +1,34 @@
+package oww.banking.mapper;
+
+import java.sql.Timestamp;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+@Mapper
+public interface VerificationCodeMapper {
+
+    /**
+     * 인증번호 저장 (같은 이메일 해시가 있으면 갱신)
+     */
+    int upsertCode(@Param("emailHash") String emailHash,
+                   @Param("code") String code,
+                   @Param("expiresAt") Timestamp expiresAt);
+
+    /**
+     * 만료되지 않은 인증번호 조회
+     * @return 인증번호 (없거나 만료되면 null)
+     */
+    String findValidCode(@Param("emailHash") String emailHash);
+
+    /**
+     * 인증번호 삭제
+     */
+    int deleteCode(@Param("emailHash") String emailHash);
+
+    /**
+     * 만료된 인증번호 일괄 삭제
+     * @return 삭제된 행 수
+     */
+    int deleteExpired();
+}
\ No newline at end of file
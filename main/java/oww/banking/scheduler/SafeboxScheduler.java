@@ -1,21 +1,19 @@
 package oww.banking.scheduler;
 
-import oww.banking.service.SafeboxService;
-import oww.banking.vo.SafeboxGoalVO;
+import oww.banking.service.SafeboxAutoSavingService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
-import java.util.List;
 
+@Slf4j
 @Component
 public class SafeboxScheduler {
 
     @Autowired
-    private SafeboxService safeboxService;
+    private SafeboxAutoSavingService safeboxAutoSavingService;
 
     /**
      * 매일 자정에 실행되는 자동 저축 스케줄러
@@ -23,37 +21,21 @@ public class SafeboxScheduler {
     @Scheduled(cron = "0 0 0 * * ?") // 매일 자정
     public void executeAutoSaving() {
         try {
-            // 모든 활성 저축 목표 조회 (이 메서드는 Service에 추가 구현 필요)
-            // List<SafeboxGoalVO> activeGoals = safeboxService.getActiveGoals();
-            
-            // for (SafeboxGoalVO goal : activeGoals) {
-            //     if (shouldExecuteToday(goal)) {
-            //         BigDecimal amount = calculateDailyAmount(goal);
-            //         safeboxService.executeAutoSaving(goal.getGoalId(), amount);
-            //     }
-            // }
+            safeboxAutoSavingService.run(LocalDate.now());
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("자동 저축 실행 실패", e);
         }
     }
 
-    private boolean shouldExecuteToday(SafeboxGoalVO goal) {
-        LocalDate today = LocalDate.now();
-        return !today.isBefore(goal.getStartDate()) && !today.isAfter(goal.getEndDate());
-    }
-
-    private BigDecimal calculateDailyAmount(SafeboxGoalVO goal) {
-        LocalDate today = LocalDate.now();
-        long remainingDays = ChronoUnit.DAYS.between(today, goal.getEndDate());
-        
-        if (remainingDays <= 0) {
-            return BigDecimal.ZERO;
+    /**
+     * 끝나지 않은 파티션 이어받기 (다른 노드 종료, 실패 후 반납, 전날 남은 파티션)
+     */
+    @Scheduled(fixedDelayString = "${banking.safebox.auto-saving.recovery-interval-ms:60000}")
+    public void recoverAutoSaving() {
+        try {
+            safeboxAutoSavingService.recover();
+        } catch (Exception e) {
+            log.error("자동 저축 복구 실패", e);
         }
-
-        // 현재까지 저축한 금액을 빼고 남은 금액을 남은 일수로 나누기
-        BigDecimal savedAmount = safeboxService.getTotalSavedAmount(goal.getGoalId());
-        BigDecimal remainingAmount = goal.getTargetAmount().subtract(savedAmount);
-        
-        return remainingAmount.divide(BigDecimal.valueOf(remainingDays), 2, BigDecimal.ROUND_UP);
     }
 }
\ No newline at end of file
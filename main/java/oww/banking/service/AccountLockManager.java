@@ -0,0 +1,172 @@
+package oww.banking.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 계좌 ID 기반 스트라이프 잠금
+ * - 같은 계좌를 건드리는 이체를 DB 행 잠금 전에 JVM 안에서 순서대로 처리
+ * - 두 계좌 잠금은 항상 스트라이프 번호 오름차순으로 획득 (교착 방지)
+ * - 잠금 대기 시간/경합 횟수 집계
+ */
+@Slf4j
+@Component
+public class AccountLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+    private final long slowWaitMillis;
+
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder contended = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public AccountLockManager(@Value("${banking.lock.stripes:256}") int stripeCount,
+                              @Value("${banking.lock.timeout-ms:5000}") long timeoutMillis,
+                              @Value("${banking.lock.slow-wait-ms:200}") long slowWaitMillis) {
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock(true); // 공정 모드: 대기 순서대로 처리
+        }
+        this.timeoutMillis = timeoutMillis;
+        this.slowWaitMillis = slowWaitMillis;
+    }
+
+    /**
+     * 단일 계좌 잠금 후 실행
+     */
+    public <T> T executeWithLock(int accountId, Supplier<T> action) {
+        ReentrantLock lock = stripes[stripeIndex(accountId)];
+        acquire(lock, accountId);
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 두 계좌(보내는/받는) 잠금 후 실행
+     */
+    public <T> T executeWithLocks(int accountIdA, int accountIdB, Supplier<T> action) {
+        int indexA = stripeIndex(accountIdA);
+        int indexB = stripeIndex(accountIdB);
+
+        // 같은 스트라이프면 한 번만 잠금
+        if (indexA == indexB) {
+            return executeWithLock(accountIdA, action);
+        }
+
+        ReentrantLock first = stripes[Math.min(indexA, indexB)];
+        ReentrantLock second = stripes[Math.max(indexA, indexB)];
+
+        acquire(first, indexA < indexB ? accountIdA : accountIdB);
+        try {
+            acquire(second, indexA < indexB ? accountIdB : accountIdA);
+            try {
+                return action.get();
+            } finally {
+                second.unlock();
+            }
+        } finally {
+            first.unlock();
+        }
+    }
+
+    /**
+     * 여러 계좌 잠금 후 실행 (묶음 이체용)
+     */
+    public <T> T executeWithLocks(Collection<Integer> accountIds, Supplier<T> action) {
+        // 스트라이프 번호 오름차순 + 중복 제거
+        TreeMap<Integer, Integer> ordered = new TreeMap<>();
+        for (Integer accountId : accountIds) {
+            ordered.putIfAbsent(stripeIndex(accountId), accountId);
+        }
+
+        int locked = 0;
+        ReentrantLock[] held = new ReentrantLock[ordered.size()];
+        try {
+            for (Map.Entry<Integer, Integer> entry : ordered.entrySet()) {
+                ReentrantLock lock = stripes[entry.getKey()];
+                acquire(lock, entry.getValue());
+                held[locked++] = lock;
+            }
+            return action.get();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                held[i].unlock();
+            }
+        }
+    }
+
+    /**
+     * 잠금 대기 통계 조회
+     */
+    public Map<String, Object> getStats() {
+        long count = acquisitions.sum();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("stripes", stripes.length);
+        stats.put("acquisitions", count);
+        stats.put("contended", contended.sum());
+        stats.put("timeouts", timeouts.sum());
+        stats.put("avgWaitMicros", count > 0 ? totalWaitNanos.sum() / count / 1_000 : 0);
+        stats.put("maxWaitMicros", maxWaitNanos.get() / 1_000);
+        return stats;
+    }
+
+    private void acquire(ReentrantLock lock, int accountId) {
+        // 인자 없는 tryLock()은 공정 모드에서도 대기열을 새치기하므로, 아무도 잡거나 기다리지 않을 때만 사용
+        boolean busy = (lock.isLocked() && !lock.isHeldByCurrentThread()) || lock.hasQueuedThreads();
+        if (!busy && lock.tryLock()) {
+            acquisitions.increment();
+            return;
+        }
+
+        // 시간 제한 tryLock은 공정 모드의 대기 순서를 지킴
+        long start = System.nanoTime();
+        boolean locked;
+        try {
+            locked = lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("계좌 잠금 대기 중 인터럽트 발생", e);
+        }
+        long waited = System.nanoTime() - start;
+
+        if (!locked) {
+            timeouts.increment();
+            log.warn("계좌 잠금 대기 시간 초과: accountId={}, waitedMs={}", accountId, TimeUnit.NANOSECONDS.toMillis(waited));
+            throw new IllegalStateException("계좌 잠금 대기 시간 초과");
+        }
+
+        acquisitions.increment();
+        if (busy) {
+            // 다른 스레드가 잡고 있거나 기다리고 있어 실제로 대기한 경우만 경합으로 집계
+            contended.increment();
+        }
+        totalWaitNanos.add(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+        if (TimeUnit.NANOSECONDS.toMillis(waited) >= slowWaitMillis) {
+            log.info("계좌 잠금 대기 지연: accountId={}, waitedMs={}, queued={}",
+                    accountId, TimeUnit.NANOSECONDS.toMillis(waited), lock.getQueueLength());
+        }
+    }
+
+    private int stripeIndex(int accountId) {
+        return Math.floorMod(accountId, stripes.length);
+    }
+}
@@ -1,11 +1,11 @@
 package oww.banking.service;
 
 import java.math.BigDecimal;
-import java.util.HashMap;
-import java.util.Map;
+import java.time.Duration;
 import java.util.Random;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,6 +14,7 @@ import lombok.extern.slf4j.Slf4j;
 import oww.banking.mapper.AccountMapper;
 import oww.banking.mapper.UserMapper;
 import oww.banking.util.AESUtil;
+import oww.banking.util.AccountNumberCache;
 import oww.banking.util.CryptoUtil;
 import oww.banking.vo.AccountVO;
 import oww.banking.vo.UserVO;
@@ -33,12 +34,20 @@ public class AccountService {
     private PasswordEncoder passwordEncoder;
     
     @Autowired
-    private EmailService emailService;
+    private EmailOutboxService emailOutboxService;
 
     @Autowired
     private AESUtil aesUtil;
 
-    private Map<String, String> emailVerificationCodes = new HashMap<>();
+    @Autowired
+    private AccountNumberCache accountNumberCache;
+
+    // 이메일 인증번호 저장소 (키: 이메일 해시)
+    @Autowired
+    private VerificationCodeStore verificationCodeStore;
+
+    @Value("${banking.verification.ttl-minutes:10}")
+    private long verificationTtlMinutes;
 
     // 이메일 마스킹 유틸리티 메서드
     private String maskEmail(String email) {
@@ -87,7 +96,7 @@ public class AccountService {
             int result = accountMapper.createAccount(account);
 
             if (result > 0) {
-                emailVerificationCodes.remove(email);
+                verificationCodeStore.remove(emailHash);
                 log.info("계좌 생성 성공: {}", maskEmail(email));
                 return "계좌가 성공적으로 생성되었습니다.";
             } else {
@@ -110,18 +119,18 @@ public class AccountService {
 
     public String sendEmailVerification(String email) {
         String code = String.valueOf(100000 + new Random().nextInt(900000));
-        emailVerificationCodes.put(email, code);
+        verificationCodeStore.save(CryptoUtil.generateEmailHash(email), code, Duration.ofMinutes(verificationTtlMinutes));
 
-        // ✅ 실제 메일 발송
-        emailService.sendVerificationEmail(email, code, null);
+        // 발송 대기열에 저장 후 바로 반환 (SMTP 발송은 워커가 처리)
+        emailOutboxService.enqueueVerification(email, code, null);
 
-        log.info("인증번호 발송: {}", maskEmail(email));
+        log.info("인증번호 발송 요청: {}", maskEmail(email));
         return code;
     }
 
     public boolean verifyEmailCode(String email, String inputCode) {
-        String storedCode = emailVerificationCodes.get(email);
-        boolean isValid = storedCode != null && storedCode.equals(inputCode);
+        boolean isValid = inputCode != null
+                && verificationCodeStore.verify(CryptoUtil.generateEmailHash(email), inputCode);
         log.info("인증번호 확인: {} - {}", maskEmail(email), isValid ? "성공" : "실패");
         return isValid;
     }
@@ -134,7 +143,7 @@ public class AccountService {
         if (account != null && account.getAccountNumber() != null) {
             try {
                 // 복호화 시도
-                account.setAccountNumber(aesUtil.decrypt(account.getAccountNumber()));
+                account.setAccountNumber(accountNumberCache.decrypt(account.getAccountNumber()));
             } catch (Exception e) {
                 // 복호화 실패 시 원본 사용 (평문인 경우)
                 log.warn("계좌번호 복호화 실패, 원본 사용: {}", e.getMessage());
@@ -0,0 +1,217 @@
+package oww.banking.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import oww.banking.mapper.EmailOutboxMapper;
+import oww.banking.vo.EmailOutboxVO;
+
+/**
+ * 메일 비동기 발송 (outbox)
+ * - 요청 스레드는 email_outbox에 저장만 하고 바로 반환 (재시작해도 유실 없음)
+ * - 커밋 후 워커 풀에 바로 전달, 큐가 가득 차거나 재시도 대상이면 주기 조회로 처리
+ * - 실패 시 지수 백오프로 재시도, 한도 초과 또는 인증번호 유효시간 경과 시 FAILED
+ * - SENT/FAILED 시 수신 주소/인증번호를 지우고, 보관 기간이 지나면 행 삭제
+ */
+@Slf4j
+@Component
+public class EmailOutboxService {
+
+    private static final String TYPE_VERIFICATION = "VERIFICATION";
+
+    @Autowired
+    private EmailOutboxMapper emailOutboxMapper;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Value("${banking.mail.outbox.workers:4}")
+    private int workerCount;
+
+    @Value("${banking.mail.outbox.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${banking.mail.outbox.poll-interval-ms:2000}")
+    private long pollIntervalMillis;
+
+    @Value("${banking.mail.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${banking.mail.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${banking.mail.outbox.backoff-ms:1000}")
+    private long backoffMillis;
+
+    @Value("${banking.mail.outbox.max-backoff-ms:60000}")
+    private long maxBackoffMillis;
+
+    @Value("${banking.mail.outbox.stale-seconds:120}")
+    private int staleSeconds;
+
+    @Value("${banking.mail.outbox.retention-days:7}")
+    private int retentionDays;
+
+    @Value("${banking.mail.outbox.purge-interval-minutes:60}")
+    private long purgeIntervalMinutes;
+
+    // 인증번호 유효시간이 지난 메일은 보내지 않음
+    @Value("${banking.verification.ttl-minutes:10}")
+    private long verificationTtlMinutes;
+
+    // 워커 큐에 들어가 있거나 발송 중인 ID (주기 조회 시 중복 제출 방지)
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    private ThreadPoolExecutor workers;
+    private ScheduledExecutorService poller;
+
+    @PostConstruct
+    public void init() {
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "email-outbox-worker");
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "email-outbox-poller");
+            t.setDaemon(true);
+            return t;
+        });
+        poller.scheduleWithFixedDelay(this::poll, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        poller.scheduleWithFixedDelay(this::purge, purgeIntervalMinutes, purgeIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+        // 남은 메일은 DB에 PENDING으로 남으므로 재시작 후 이어서 발송
+        workers.shutdownNow();
+    }
+
+    /**
+     * 인증 메일 발송 요청 (저장 후 즉시 반환)
+     */
+    public void enqueueVerification(String toEmail, String verificationCode, String userName) {
+        EmailOutboxVO outbox = new EmailOutboxVO();
+        outbox.setMailType(TYPE_VERIFICATION);
+        outbox.setToEmail(toEmail);
+        outbox.setVerificationCode(verificationCode);
+        outbox.setUserName(userName);
+        emailOutboxMapper.insertOutbox(outbox);
+
+        Long outboxId = outbox.getOutboxId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // 커밋 전에는 워커가 행을 볼 수 없으므로 커밋 이후에 전달
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(outboxId);
+                }
+            });
+        } else {
+            dispatch(outboxId);
+        }
+    }
+
+    private void dispatch(Long outboxId) {
+        if (!inFlight.add(outboxId)) {
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    deliver(outboxId);
+                } finally {
+                    inFlight.remove(outboxId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 큐가 가득 찬 경우 주기 조회에서 다시 처리
+            inFlight.remove(outboxId);
+            log.debug("메일 워커 큐 포화, 주기 조회로 연기: outboxId={}", outboxId);
+        }
+    }
+
+    private void poll() {
+        try {
+            emailOutboxMapper.releaseStale(staleSeconds);
+
+            int capacity = Math.min(batchSize, workers.getQueue().remainingCapacity());
+            if (capacity <= 0) {
+                return;
+            }
+            List<Long> due = emailOutboxMapper.findDueOutboxIds(capacity);
+            due.forEach(this::dispatch);
+        } catch (Exception e) {
+            log.warn("메일 대기열 조회 실패: {}", e.getMessage());
+        }
+    }
+
+    private void purge() {
+        try {
+            int deleted = emailOutboxMapper.deleteFinishedBefore(retentionDays);
+            if (deleted > 0) {
+                log.info("보관 기간 지난 메일 대기열 삭제: {}건", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("메일 대기열 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    private void deliver(Long outboxId) {
+        // 다른 워커/인스턴스가 먼저 선점했거나 아직 커밋 전이면 건너뜀
+        if (emailOutboxMapper.claimOutbox(outboxId) == 0) {
+            return;
+        }
+
+        EmailOutboxVO outbox = emailOutboxMapper.findOutboxById(outboxId);
+        if (outbox == null) {
+            return;
+        }
+
+        if (TYPE_VERIFICATION.equals(outbox.getMailType()) && outbox.getCreatedAt() != null
+                && outbox.getCreatedAt().plusMinutes(verificationTtlMinutes).isBefore(LocalDateTime.now())) {
+            emailOutboxMapper.markFailed(outboxId, "인증번호 유효시간 경과");
+            log.warn("인증 메일 만료로 발송 취소: outboxId={}", outboxId);
+            return;
+        }
+
+        try {
+            emailService.sendVerificationEmail(outbox.getToEmail(), outbox.getVerificationCode(), outbox.getUserName());
+            emailOutboxMapper.markSent(outboxId);
+        } catch (Exception e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            String error = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+            int attempts = outbox.getAttempts() + 1;
+
+            if (attempts >= maxAttempts) {
+                emailOutboxMapper.markFailed(outboxId, error);
+                log.error("메일 발송 최종 실패: outboxId={}, attempts={}, error={}", outboxId, attempts, error);
+                return;
+            }
+
+            long delay = Math.min(maxBackoffMillis, backoffMillis << Math.min(attempts - 1, 20));
+            emailOutboxMapper.markRetry(outboxId, new Timestamp(System.currentTimeMillis() + delay), error);
+            log.warn("메일 발송 실패, {}ms 후 재시도: outboxId={}, attempts={}, error={}", delay, outboxId, attempts, error);
+        }
+    }
+}
\ No newline at end of file
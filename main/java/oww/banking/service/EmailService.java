@@ -1,9 +1,14 @@
 package oww.banking.service;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,6 +21,8 @@ import org.thymeleaf.context.Context;
 @Service
 public class EmailService {
 
+    private static final String VERIFICATION_TEMPLATE = "email/verification";
+
     @Autowired
     private JavaMailSender mailSender;
 
@@ -28,6 +35,18 @@ public class EmailService {
     @Value("${mail.from.name}")
     private String fromName;
 
+    // 메일 본문에 안내하는 인증번호 유효시간 (인증번호 저장소 TTL과 같은 값)
+    @Value("${banking.verification.ttl-minutes:10}")
+    private long verificationTtlMinutes;
+
+    /**
+     * 기동 시 인증 메일 템플릿을 미리 파싱해 캐시에 적재 (첫 발송 지연 제거)
+     */
+    @PostConstruct
+    public void warmUpTemplates() {
+        createVerificationEmailContent("000000", null);
+    }
+
     /**
      * 이메일 인증번호 발송
      * @param toEmail 받는 이메일
@@ -59,65 +78,32 @@ public class EmailService {
 
 
     /**
-     * 인증 이메일 HTML 템플릿 생성
+     * 인증 이메일 HTML 생성 (templates/email/verification.html)
      */
     private String createVerificationEmailContent(String verificationCode, String userName) {
-        return String.format("""
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <meta charset="UTF-8">
-                <title>이메일 인증</title>
-                <style>
-                    body { font-family: 'Noto Sans KR', Arial, sans-serif; line-height: 1.6; color: #333; }
-                    .container { max-width: 600px; margin: 0 auto; padding: 20px; background-color: #f9f9f9; }
-                    .header { text-align: center; background-color: #4CAF50; color: white; padding: 20px; border-radius: 10px 10px 0 0; }
-                    .content { background-color: white; padding: 30px; border-radius: 0 0 10px 10px; box-shadow: 0 2px 10px rgba(0,0,0,0.1); }
-                    .verification-code { background-color: #f0f8ff; border:2px dashed #4CAF50; padding: 20px; text-align: center; margin: 20px 0; border-radius: 8px; }
-                    .code { font-size: 32px; font-weight: bold; color: #4CAF50; letter-spacing: 8px; }
-                    .warning { background-color: #fff3cd; border-left: 4px solid #ffc107; padding: 15px; margin: 20px 0; }
-                    .footer { text-align: center; margin-top: 20px; color: #666; font-size: 12px; }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>🏦 Own Wedding Wallet</h1>
-                        <h2>계좌 개설 이메일 인증</h2>
-                    </div>
-                    <div class="content">
-                        <h3>안녕하세요%s!</h3>
-                        <p>Own Wedding Wallet 계좌 개설을 위한 이메일 인증번호를 발송해드립니다.</p>
-                        
-                        <div class="verification-code">
-                            <p><strong>인증번호</strong></p>
-                            <div class="code">%s</div>
-                        </div>
-                        
-                        <p>위 인증번호를 계좌 개설 페이지에 입력해주세요.</p>
-                        
-                        <div class="warning">
-                            <strong>⚠️ 주의사항</strong>
-                            <ul>
-                                <li>인증번호는 <strong>10분간</strong> 유효합니다.</li>
-                                <li>본인이 요청하지 않은 경우, 이 이메일을 무시하세요.</li>
-                                <li>인증번호를 타인에게 공유하지 마세요.</li>
-                            </ul>
-                        </div>
-                        
-                        <p>감사합니다.<br>Own Wedding Wallet 팀</p>
-                    </div>
-                    <div class="footer">
-                        <p>이 이메일은 자동으로 발송된 메일입니다.<br>
-                        © 2025 Own Wedding Wallet. All rights reserved.</p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """, 
-            userName != null ? " " + userName + "님" : "", 
-            verificationCode
-        );
+        Context context = new Context(Locale.KOREA);
+        context.setVariable("code", verificationCode);
+        context.setVariable("name", userName);
+        context.setVariable("ttlMinutes", verificationTtlMinutes);
+        return templateEngine.process(VERIFICATION_TEMPLATE, context);
+    }
+
+    /**
+     * 같은 템플릿으로 여러 건 렌더링 (목표 알림 등 대량 발송용)
+     * - 템플릿은 한 번만 파싱되어 캐시되고, 건별로 변수만 바꿔 렌더링
+     * @param templateName templates/ 기준 템플릿 이름 (예: email/verification)
+     * @param variablesList 건별 변수
+     * @return 입력 순서와 같은 순서의 HTML 목록
+     */
+    public List<String> renderBatch(String templateName, List<Map<String, Object>> variablesList) {
+        List<String> rendered = new ArrayList<>(variablesList.size());
+        Context context = new Context(Locale.KOREA);
+        for (Map<String, Object> variables : variablesList) {
+            context.clearVariables();
+            context.setVariables(variables);
+            rendered.add(templateEngine.process(templateName, context));
+        }
+        return rendered;
     }
 
     /**
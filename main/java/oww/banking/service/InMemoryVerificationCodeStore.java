@@ -0,0 +1,98 @@
+package oww.banking.service;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 메모리 인증번호 저장소
+ * - ConcurrentHashMap 기반 (잠금 없음), 항목별 만료 시각 보관
+ * - 최대 건수 제한 (가득 차면 요청 스레드에서 정리하지 않고 바로 거절), 주기적으로 만료 항목 정리
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "banking.verification.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryVerificationCodeStore implements VerificationCodeStore {
+
+    private final ConcurrentHashMap<String, Entry> codes = new ConcurrentHashMap<>();
+
+    @Value("${banking.verification.max-entries:100000}")
+    private int maxEntries;
+
+    @Value("${banking.verification.sweep-interval-seconds:60}")
+    private long sweepIntervalSeconds;
+
+    private ScheduledExecutorService sweeper;
+
+    @PostConstruct
+    public void init() {
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "verification-code-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepIntervalSeconds, sweepIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    @Override
+    public void save(String key, String code, Duration ttl) {
+        // 전체 정리는 O(n)이므로 요청 스레드에서 하지 않음 (만료 항목은 sweeper가 정리)
+        if (codes.size() >= maxEntries && !codes.containsKey(key)) {
+            throw new IllegalStateException("인증 요청이 너무 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+        codes.put(key, new Entry(code, System.currentTimeMillis() + ttl.toMillis()));
+    }
+
+    @Override
+    public boolean verify(String key, String code) {
+        Entry entry = codes.get(key);
+        if (entry == null) {
+            return false;
+        }
+        if (entry.expiresAtMillis <= System.currentTimeMillis()) {
+            codes.remove(key, entry);
+            return false;
+        }
+        return entry.code.equals(code);
+    }
+
+    @Override
+    public void remove(String key) {
+        codes.remove(key);
+    }
+
+    private void sweep() {
+        long now = System.currentTimeMillis();
+        int before = codes.size();
+        codes.entrySet().removeIf(e -> e.getValue().expiresAtMillis <= now);
+        int removed = before - codes.size();
+        if (removed > 0) {
+            log.debug("만료 인증번호 정리: {}건", removed);
+        }
+    }
+
+    private static class Entry {
+        private final String code;
+        private final long expiresAtMillis;
+
+        private Entry(String code, long expiresAtMillis) {
+            this.code = code;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
\ No newline at end of file
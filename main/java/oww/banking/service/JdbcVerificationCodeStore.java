@@ -0,0 +1,78 @@
+package oww.banking.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import oww.banking.mapper.VerificationCodeMapper;
+
+/**
+ * DB 인증번호 저장소 (여러 banking 인스턴스 공유)
+ * - 만료 시각은 DB에 저장, 조회 시 만료 여부를 SQL에서 확인
+ * - 만료 행은 주기적으로 삭제 (여러 인스턴스가 동시에 실행해도 무방)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "banking.verification.store", havingValue = "jdbc")
+public class JdbcVerificationCodeStore implements VerificationCodeStore {
+
+    @Autowired
+    private VerificationCodeMapper verificationCodeMapper;
+
+    @Value("${banking.verification.sweep-interval-seconds:60}")
+    private long sweepIntervalSeconds;
+
+    private ScheduledExecutorService sweeper;
+
+    @PostConstruct
+    public void init() {
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "verification-code-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepIntervalSeconds, sweepIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    @Override
+    public void save(String key, String code, Duration ttl) {
+        verificationCodeMapper.upsertCode(key, code, new Timestamp(System.currentTimeMillis() + ttl.toMillis()));
+    }
+
+    @Override
+    public boolean verify(String key, String code) {
+        String stored = verificationCodeMapper.findValidCode(key);
+        return stored != null && stored.equals(code);
+    }
+
+    @Override
+    public void remove(String key) {
+        verificationCodeMapper.deleteCode(key);
+    }
+
+    private void sweep() {
+        try {
+            int removed = verificationCodeMapper.deleteExpired();
+            if (removed > 0) {
+                log.debug("만료 인증번호 정리: {}건", removed);
+            }
+        } catch (Exception e) {
+            log.warn("만료 인증번호 정리 실패: {}", e.getMessage());
+        }
+    }
+}
\ No newline at end of file
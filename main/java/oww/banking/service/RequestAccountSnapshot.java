@@ -0,0 +1,78 @@
+package oww.banking.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import lombok.extern.slf4j.Slf4j;
+import oww.banking.mapper.AccountMapper;
+import oww.banking.util.AccountNumberCache;
+import oww.banking.vo.AccountVO;
+import oww.banking.vo.DashboardSnapshot;
+import oww.banking.vo.SafeboxVO;
+
+/**
+ * 요청 단위 계좌/세이프박스 스냅샷
+ * - GlobalModelAdvice와 컨트롤러가 같은 요청 안에서 같은 조회를 반복하지 않도록
+ *   한 번의 조인 쿼리(계좌 + 세이프박스 + 목표 집계)로 읽어 요청이 끝날 때까지 공유
+ * - 잔액을 변경하는 요청에서는 변경 후 invalidate() 호출
+ */
+@Slf4j
+@Component
+@RequestScope
+public class RequestAccountSnapshot {
+
+    @Autowired
+    private AccountMapper accountMapper;
+
+    @Autowired
+    private AccountNumberCache accountNumberCache;
+
+    private String loadedEmailHash;
+    private DashboardSnapshot dashboard;
+
+    /**
+     * 대시보드 스냅샷 (사용자가 없으면 null)
+     */
+    public DashboardSnapshot getDashboard(String emailHash) {
+        load(emailHash);
+        return dashboard;
+    }
+
+    public AccountVO getAccount(String emailHash) {
+        load(emailHash);
+        return dashboard != null ? dashboard.getAccount() : null;
+    }
+
+    public SafeboxVO getSafebox(String emailHash) {
+        load(emailHash);
+        return dashboard != null ? dashboard.getSafebox() : null;
+    }
+
+    /**
+     * 스냅샷 폐기 (다음 조회 시 다시 읽음)
+     */
+    public void invalidate() {
+        this.loadedEmailHash = null;
+        this.dashboard = null;
+    }
+
+    private void load(String emailHash) {
+        if (emailHash == null || emailHash.equals(loadedEmailHash)) {
+            return;
+        }
+
+        this.dashboard = accountMapper.findDashboardByEmailHash(emailHash);
+        this.loadedEmailHash = emailHash;
+
+        AccountVO account = dashboard != null ? dashboard.getAccount() : null;
+        if (account != null && account.getAccountNumber() != null) {
+            try {
+                account.setAccountNumber(accountNumberCache.decrypt(account.getAccountNumber()));
+            } catch (Exception e) {
+                // 복호화 실패 시 원본 사용 (평문인 경우)
+                log.warn("계좌번호 복호화 실패, 원본 사용: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package oww.banking.service;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import oww.banking.mapper.SafeboxMapper;
+import oww.banking.vo.SafeboxAutoSavingPartitionVO;
+import oww.banking.vo.SafeboxAutoSavingTarget;
+
+/**
+ * 세이프박스 자동 저축 배치
+ * - 실행일마다 goal_id 해시 기준 partitions개 파티션을 만들고, 각 노드가 DB 임대로 나눠 처리
+ * - 파티션 대상 목표를 커서로 스트리밍 (누적 저축액은 GROUP BY 한 번으로 함께 조회)
+ * - chunk-size 단위로 묶어 워커 풀에서 청크별 트랜잭션으로 처리
+ * - 청크마다 임대 확인 1회 후, 목표별 고정 문장(조건부 출금/입금/내역)을 JDBC 배치로 전송, 잔액 부족 건은 건너뜀
+ * - 커밋이 연속으로 끝난 지점을 파티션에 기록, 노드가 죽으면 임대 만료 후 다른 노드가 이어서 처리
+ * - 임대 연장은 별도 스레드에서 트랜잭션 없이(자동 커밋) 수행, 커서/청크 트랜잭션과 섞지 않음
+ * - 같은 목표의 같은 날 자동 저축은 유니크 인덱스로 한 번만 허용 (임대가 넘어가도 중복 출금 없음)
+ * - 커서용 커넥션 1개 + 워커 수만큼 커넥션이 필요
+ */
+@Slf4j
+@Service
+public class SafeboxAutoSavingService {
+
+    private static final String MONTHLY = "monthly";
+
+    @Autowired
+    private SafeboxMapper safeboxMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Value("${banking.safebox.auto-saving.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${banking.safebox.auto-saving.workers:4}")
+    private int workerCount;
+
+    @Value("${banking.safebox.auto-saving.await-minutes:60}")
+    private long awaitMinutes;
+
+    @Value("${banking.safebox.auto-saving.partitions:16}")
+    private int partitions;
+
+    @Value("${banking.safebox.auto-saving.lease-seconds:300}")
+    private int leaseSeconds;
+
+    // 비어 있으면 호스트명 + PID
+    @Value("${banking.safebox.auto-saving.node-id:}")
+    private String nodeId;
+
+    // run과 recover는 따로 막음 (복구가 자정을 넘겨도 그날 실행이 건너뛰어지지 않도록)
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicBoolean recovering = new AtomicBoolean(false);
+
+    private TransactionTemplate readOnlyTemplate;
+    private TransactionTemplate chunkTemplate;
+    // 청크 트랜잭션 전용 (BATCH 실행기, 같은 트랜잭션 안의 모든 호출은 이 세션으로)
+    private SqlSessionTemplate batchSession;
+    private SafeboxMapper batchMapper;
+    private ExecutorService workers;
+    private ScheduledExecutorService leaseKeeper;
+
+    @PostConstruct
+    public void init() {
+        if (nodeId == null || nodeId.isBlank()) {
+            // "pid@hostname"
+            this.nodeId = ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTemplate.setReadOnly(true);
+
+        // 청크는 항상 독립 트랜잭션 (커서 트랜잭션과 분리)
+        this.chunkTemplate = new TransactionTemplate(transactionManager);
+        chunkTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.batchSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+        this.batchMapper = batchSession.getMapper(SafeboxMapper.class);
+
+        this.workers = Executors.newFixedThreadPool(workerCount, r -> {
+            Thread t = new Thread(r, "safebox-auto-saving-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        this.leaseKeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "safebox-auto-saving-lease");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        leaseKeeper.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * 자동 저축 실행 (파티션 생성 후 임대 가능한 파티션을 모두 처리)
+     * - 같은 날짜로 다시 실행하면 남은 파티션/목표만 처리
+     * @return 이 노드에서 저축된 건수
+     */
+    public int run(LocalDate runDate) {
+        // 이전 실행이 남아 있어도 파티션은 먼저 만들어 두어 복구에서 이어받을 수 있게 함
+        createPartitions(runDate);
+        if (!running.compareAndSet(false, true)) {
+            log.warn("자동 저축이 이미 실행 중입니다: runDate={}", runDate);
+            return 0;
+        }
+        try {
+            return processClaimable(runDate);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 끝나지 않은 모든 실행일의 임대 가능한 파티션 이어받기
+     * - 다른 노드 장애, 실패 후 반납된 파티션, 자정 직전에 남은 전날 파티션 포함
+     * - 파티션은 새로 만들지 않음
+     * @return 이 노드에서 저축된 건수
+     */
+    public int recover() {
+        if (!recovering.compareAndSet(false, true)) {
+            log.debug("자동 저축 복구가 이미 실행 중입니다");
+            return 0;
+        }
+        try {
+            int applied = 0;
+            for (LocalDate runDate : safeboxMapper.findUnfinishedAutoSavingRunDates()) {
+                applied += processClaimable(runDate);
+            }
+            return applied;
+        } finally {
+            recovering.set(false);
+        }
+    }
+
+    /**
+     * 실행일 파티션 생성
+     * - 모든 노드가 같은 시각에 MERGE 하므로 PK 충돌(ORA-00001)이 날 수 있음, 다른 노드가 이미 만든 것이므로 무시
+     */
+    private void createPartitions(LocalDate runDate) {
+        try {
+            safeboxMapper.createAutoSavingPartitions(runDate, partitions);
+        } catch (DuplicateKeyException e) {
+            log.debug("자동 저축 파티션을 다른 노드가 먼저 생성: runDate={}", runDate);
+        }
+    }
+
+    private int processClaimable(LocalDate runDate) {
+        int applied = 0;
+        // 이번 실행에서 이미 시도한 파티션은 다시 잡지 않음 (실패 파티션 무한 반복 방지)
+        Set<Integer> attempted = new HashSet<>();
+        boolean claimedAny = true;
+        while (claimedAny) {
+            claimedAny = false;
+            // 처리하는 동안 다른 노드의 임대가 만료됐을 수 있으므로 매번 다시 조회
+            for (SafeboxAutoSavingPartitionVO partition : safeboxMapper.findClaimableAutoSavingPartitions(runDate)) {
+                if (!attempted.add(partition.getPartitionNo())) {
+                    continue;
+                }
+                if (safeboxMapper.claimAutoSavingPartition(runDate, partition.getPartitionNo(), nodeId, leaseSeconds) == 0) {
+                    continue; // 다른 노드가 먼저 임대
+                }
+                claimedAny = true;
+                applied += processPartition(runDate, partition.getPartitionNo(), partition.getLastGoalId());
+            }
+        }
+        return applied;
+    }
+
+    private int processPartition(LocalDate runDate, int partitionNo, int afterGoalId) {
+        long startedAt = System.currentTimeMillis();
+        int maxInFlight = workerCount * 2;
+        PartitionRun run = new PartitionRun(runDate, partitionNo, new Semaphore(maxInFlight));
+        int[] scanned = new int[1];
+
+        // 임대 시간의 1/3마다 연장 (청크는 임대가 절반 이상 남아 있어야 진행되므로)
+        long renewMillis = Math.max(1000L, leaseSeconds * 1000L / 3);
+        ScheduledFuture<?> heartbeat = leaseKeeper.scheduleWithFixedDelay(
+                () -> renewLease(run), renewMillis, renewMillis, TimeUnit.MILLISECONDS);
+
+        try {
+            readOnlyTemplate.executeWithoutResult(status -> {
+                try (Cursor<SafeboxAutoSavingTarget> cursor =
+                             safeboxMapper.streamAutoSavingTargets(runDate, partitions, partitionNo, afterGoalId)) {
+                    List<SafeboxAutoSavingTarget> chunk = new ArrayList<>(chunkSize);
+                    long seq = 0;
+                    for (SafeboxAutoSavingTarget target : cursor) {
+                        if (run.leaseLost.get()) {
+                            break;
+                        }
+                        scanned[0]++;
+                        chunk.add(target);
+                        if (chunk.size() >= chunkSize) {
+                            submit(run, seq++, chunk);
+                            chunk = new ArrayList<>(chunkSize);
+                        }
+                    }
+                    if (!chunk.isEmpty() && !run.leaseLost.get()) {
+                        submit(run, seq, chunk);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("자동 저축 중단", e);
+                } catch (Exception e) {
+                    throw new IllegalStateException("자동 저축 대상 조회 실패", e);
+                }
+            });
+        } catch (Exception e) {
+            run.failedChunks.incrementAndGet();
+            log.error("자동 저축 파티션 조회 실패: runDate={}, partition={}", runDate, partitionNo, e);
+        }
+
+        // 남은 청크가 모두 끝날 때까지 대기
+        boolean drained;
+        try {
+            drained = run.inFlight.tryAcquire(maxInFlight, awaitMinutes, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            drained = false;
+        }
+        heartbeat.cancel(false);
+
+        if (run.leaseLost.get()) {
+            log.warn("자동 저축 임대 상실, 다른 노드가 이어서 처리: runDate={}, partition={}", runDate, partitionNo);
+        } else if (drained && run.failedChunks.get() == 0) {
+            safeboxMapper.finishAutoSavingPartition(runDate, partitionNo, nodeId);
+        } else {
+            // 실패한 파티션은 반납해 바로 재시도 가능하게 함 (이미 저축한 목표는 조회에서 제외됨)
+            safeboxMapper.releaseAutoSavingPartition(runDate, partitionNo, nodeId);
+        }
+
+        log.info("자동 저축 파티션 종료: runDate={}, partition={}, node={}, scanned={}, applied={}, failedChunks={}, elapsed={}ms",
+                runDate, partitionNo, nodeId, scanned[0], run.applied.get(), run.failedChunks.get(),
+                System.currentTimeMillis() - startedAt);
+        return run.applied.get();
+    }
+
+    /**
+     * 임대 연장 (leaseKeeper 스레드, 트랜잭션 밖이므로 문장마다 바로 커밋)
+     */
+    private void renewLease(PartitionRun run) {
+        try {
+            if (safeboxMapper.renewAutoSavingLease(run.runDate, run.partitionNo, nodeId, leaseSeconds) == 0) {
+                run.leaseLost.set(true);
+            }
+        } catch (Exception e) {
+            log.warn("자동 저축 임대 연장 실패: runDate={}, partition={}, error={}", run.runDate, run.partitionNo, e.getMessage());
+        }
+    }
+
+    private void submit(PartitionRun run, long seq, List<SafeboxAutoSavingTarget> chunk) throws InterruptedException {
+        int lastGoalId = chunk.get(chunk.size() - 1).getGoalId();
+        run.inFlight.acquire();
+        workers.execute(() -> {
+            try {
+                if (run.leaseLost.get()) {
+                    return;
+                }
+                run.applied.addAndGet(applyChunk(run, chunk));
+                Integer committed = run.watermark.complete(seq, lastGoalId);
+                if (committed != null) {
+                    safeboxMapper.updateAutoSavingProgress(run.runDate, run.partitionNo, committed, 0);
+                }
+            } catch (Exception e) {
+                // 임대를 잃은 경우는 applyChunk에서 leaseLost로 반영
+                run.failedChunks.incrementAndGet();
+                log.error("자동 저축 청크 실패: runDate={}, partition={}, seq={}, lastGoalId={}",
+                        run.runDate, run.partitionNo, seq, lastGoalId, e);
+            } finally {
+                run.inFlight.release();
+            }
+        });
+    }
+
+    private int applyChunk(PartitionRun run, List<SafeboxAutoSavingTarget> chunk) {
+        LocalDate runDate = run.runDate;
+        List<SafeboxAutoSavingTarget> targets = new ArrayList<>(chunk.size());
+        for (SafeboxAutoSavingTarget target : chunk) {
+            BigDecimal amount = calculateAmount(target, runDate);
+            if (amount != null) {
+                target.setAmount(amount);
+                targets.add(target);
+            }
+        }
+        if (targets.isEmpty()) {
+            return 0;
+        }
+
+        // 청크는 goal_id 오름차순이므로 처음/마지막 항목이 범위
+        int fromGoalId = chunk.get(0).getGoalId();
+        int toGoalId = chunk.get(chunk.size() - 1).getGoalId();
+
+        // 계좌 ID 순으로 잠가 청크 간 교착 방지
+        targets.sort(Comparator.comparingInt(SafeboxAutoSavingTarget::getAccountId));
+
+        Integer result = chunkTemplate.execute(status -> {
+            // 임대 확인은 청크당 1회 (남은 임대 시간이 절반 미만이면 아무것도 쓰지 않고 중단)
+            if (batchMapper.countOwnedAutoSavingLease(runDate, run.partitionNo, nodeId, leaseSeconds) == 0) {
+                run.leaseLost.set(true);
+                throw new IllegalStateException("자동 저축 임대 상실");
+            }
+
+            // 목표별 고정 문장을 배치로 모아 한 번에 전송 (청크 크기와 무관하게 같은 SQL 재사용)
+            for (SafeboxAutoSavingTarget target : targets) {
+                batchMapper.applyAutoSavingTarget(target, runDate);
+            }
+            batchSession.flushStatements();
+
+            // 배치 결과로는 잔액 부족 건을 구분할 수 없으므로 같은 트랜잭션에서 처리 건수 조회
+            int appliedCount = batchMapper.countAutoSavedInRange(runDate, partitions, run.partitionNo, fromGoalId, toGoalId);
+            batchMapper.updateAutoSavingProgress(runDate, run.partitionNo, 0, appliedCount);
+            return appliedCount;
+        });
+        return result != null ? result : 0;
+    }
+
+    /**
+     * 이번 회차 저축액 (오늘이 납입일이 아니거나 목표 달성 시 null)
+     * - daily: 남은 금액 / 오늘 포함 남은 일수
+     * - monthly: 시작일과 같은 날(말일 보정)에만, 남은 금액 / 오늘 포함 남은 개월 수
+     */
+    private BigDecimal calculateAmount(SafeboxAutoSavingTarget target, LocalDate runDate) {
+        BigDecimal remaining = target.getTargetAmount().subtract(target.getSavedAmount());
+        if (remaining.signum() <= 0) {
+            return null;
+        }
+
+        long installments;
+        if (MONTHLY.equalsIgnoreCase(target.getPaymentType())) {
+            int payDay = Math.min(target.getStartDate().getDayOfMonth(), runDate.lengthOfMonth());
+            if (runDate.getDayOfMonth() != payDay) {
+                return null;
+            }
+            installments = ChronoUnit.MONTHS.between(runDate, target.getEndDate()) + 1;
+        } else {
+            installments = ChronoUnit.DAYS.between(runDate, target.getEndDate()) + 1;
+        }
+        if (installments <= 0) {
+            return null;
+        }
+
+        BigDecimal amount = remaining.divide(BigDecimal.valueOf(installments), 2, RoundingMode.UP);
+        return amount.min(remaining);
+    }
+
+    /**
+     * 파티션 1개 처리 상태
+     */
+    private static class PartitionRun {
+        private final LocalDate runDate;
+        private final int partitionNo;
+        private final Semaphore inFlight;
+        private final ChunkWatermark watermark = new ChunkWatermark();
+        private final AtomicInteger applied = new AtomicInteger();
+        private final AtomicInteger failedChunks = new AtomicInteger();
+        private final AtomicBoolean leaseLost = new AtomicBoolean(false);
+
+        private PartitionRun(LocalDate runDate, int partitionNo, Semaphore inFlight) {
+            this.runDate = runDate;
+            this.partitionNo = partitionNo;
+            this.inFlight = inFlight;
+        }
+    }
+
+    /**
+     * 순서대로 연속 완료된 청크의 마지막 goal_id 추적
+     */
+    private static class ChunkWatermark {
+        private final TreeMap<Long, Integer> done = new TreeMap<>();
+        private long next = 0;
+
+        /**
+         * @return 연속 완료 지점이 앞으로 이동했으면 그 goal_id, 아니면 null
+         */
+        synchronized Integer complete(long seq, int lastGoalId) {
+            done.put(seq, lastGoalId);
+            Integer advanced = null;
+            while (done.containsKey(next)) {
+                advanced = done.remove(next);
+                next++;
+            }
+            return advanced;
+        }
+    }
+}
\ No newline at end of file
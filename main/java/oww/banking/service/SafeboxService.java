@@ -2,9 +2,7 @@ package oww.banking.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -14,7 +12,9 @@ import lombok.extern.slf4j.Slf4j;
 import oww.banking.mapper.AccountMapper;
 import oww.banking.mapper.SafeboxMapper;
 import oww.banking.util.CryptoUtil;
-import oww.banking.vo.AccountVO;
+import oww.banking.vo.DashboardSnapshot;
+import oww.banking.vo.SafeboxDepositVO;
+import oww.banking.vo.SafeboxGoalProgressVO;
 import oww.banking.vo.SafeboxGoalVO;
 import oww.banking.vo.SafeboxHistoryVO;
 import oww.banking.vo.SafeboxVO;
@@ -32,49 +32,33 @@ public class SafeboxService {
     /**
      * 세이프박스 금액 설정 (해시 기반)
      */
-    @Transactional
     public boolean setSafeboxAmount(String emailHash, BigDecimal amount) {
-        try {
-            // 계좌 조회 (해시로 직접 조회)
-            AccountVO account = accountMapper.findAccountByEmailHash(emailHash);
-            if (account == null) {
-                log.error("계좌를 찾을 수 없습니다: emailHash={}", emailHash);
-                throw new RuntimeException("계좌 없음");
-            }
-
-            // 세이프박스 조회 (해시로 직접 조회)
-            SafeboxVO safebox = safeboxMapper.findSafeboxByEmailHash(emailHash);
-            if (safebox == null) {
-                // 새 세이프박스 생성 시 userEmail과 emailHash 모두 설정
-                SafeboxVO newBox = new SafeboxVO();
-                newBox.setUserEmail(account.getUserEmail()); // 계좌에서 실제 이메일 가져오기
-                newBox.setEmailHash(emailHash);
-                newBox.setBalance(amount);
-                safeboxMapper.createSafebox(newBox);
-            } else {
-                BigDecimal newBalance = safebox.getBalance().add(amount);
-                Map<String, Object> params = new HashMap<>();
-                params.put("safeboxId", safebox.getSafeboxId());
-                params.put("balance", newBalance);
-                safeboxMapper.updateSafeboxBalance(params);
-            }
+        return deposit(emailHash, amount, null).isSuccess();
+    }
 
-            // 계좌 잔액 차감
-            BigDecimal newAccountBalance = account.getBalance().subtract(amount);
-            if (newAccountBalance.compareTo(BigDecimal.ZERO) < 0) {
-                log.error("잔액 부족: 요청금액={}, 계좌잔액={}", amount, account.getBalance());
-                throw new RuntimeException("잔액 부족");
-            }
+    /**
+     * 세이프박스 입금 (delta 기반, 해시 기반)
+     * - 계좌 조건부 출금과 세이프박스 가산을 한 번의 호출로 처리 (읽고 쓰는 사이 다른 입금에 덮어쓰이지 않음)
+     * @param goalId 저축 목표 ID (null이면 저축 내역 없이 입금)
+     * @return 결과 코드와 입금 후 계좌/세이프박스 잔액
+     */
+    @Transactional
+    public SafeboxDepositVO deposit(String emailHash, BigDecimal amount, Integer goalId) {
+        SafeboxDepositVO deposit = new SafeboxDepositVO(emailHash, amount, goalId);
+        if (amount == null || amount.signum() <= 0) {
+            log.error("세이프박스 입금 금액 오류: amount={}", amount);
+            deposit.setResultCode(SafeboxDepositVO.INVALID_AMOUNT);
+            return deposit;
+        }
 
-            account.setBalance(newAccountBalance);
-            accountMapper.updateBalance(account.getAccountId(), newAccountBalance);
+        safeboxMapper.depositToSafebox(deposit);
 
-            log.info("세이프박스 금액 설정 성공: amount={}", amount);
-            return true;
-        } catch (Exception e) {
-            log.error("세이프박스 금액 설정 실패: ", e);
-            return false;
+        if (deposit.isSuccess()) {
+            log.info("세이프박스 입금 성공: amount={}, goalId={}", amount, goalId);
+        } else {
+            log.error("세이프박스 입금 실패: resultCode={}, amount={}, goalId={}", deposit.getResultCode(), amount, goalId);
         }
+        return deposit;
     }
 
     /**
@@ -93,6 +77,13 @@ public class SafeboxService {
         return safeboxMapper.findGoalsBySafeboxId(safebox.getSafeboxId());
     }
 
+    /**
+     * 정기저금 목표 + 누적 저축액/진행률 조회 (해시 기반, 쿼리 1회)
+     */
+    public List<SafeboxGoalProgressVO> getSavingGoalsWithProgress(String emailHash) {
+        return safeboxMapper.findGoalProgressByEmailHash(emailHash);
+    }
+
     /**
      * 정기저금 목표 생성 (해시 기반)
      */
@@ -150,13 +141,16 @@ public class SafeboxService {
      * 사용자 전체 자산 조회 (해시 기반)
      */
     public BigDecimal getTotalAssets(String emailHash) {
-        AccountVO account = accountMapper.findAccountByEmailHash(emailHash);
-        SafeboxVO safebox = safeboxMapper.findSafeboxByEmailHash(emailHash);
-
-        BigDecimal accountBalance = account != null ? account.getBalance() : BigDecimal.ZERO;
-        BigDecimal safeboxBalance = safebox != null ? safebox.getBalance() : BigDecimal.ZERO;
+        DashboardSnapshot dashboard = getDashboard(emailHash);
+        return dashboard != null ? dashboard.getTotalAssets() : BigDecimal.ZERO;
+    }
 
-        return accountBalance.add(safeboxBalance);
+    /**
+     * 계좌 + 세이프박스 + 목표 집계 한 번에 조회 (해시 기반)
+     * 계좌번호는 암호문 그대로 반환 (화면용은 RequestAccountSnapshot 사용)
+     */
+    public DashboardSnapshot getDashboard(String emailHash) {
+        return accountMapper.findDashboardByEmailHash(emailHash);
     }
 
     /**
@@ -0,0 +1,275 @@
+package oww.banking.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import oww.banking.mapper.TransferMapper;
+import oww.banking.vo.TransferVO;
+
+/**
+ * 받는 계좌 기준 묶음 입금 (group commit)
+ * - 처리 중인 묶음이 없으면 바로 처리, 처리 중이면 그동안 들어온 이체를 모아서 다음 트랜잭션으로 처리
+ * - 받는 계좌를 포함한 모든 계좌를 ID 오름차순으로 잠금 (단건 이체와 같은 순서)
+ * - 보내는 계좌는 건별 조건부 출금, 받는 계좌는 합계 1회 입금
+ * - 이체/거래내역은 한 번의 호출로 저장, 결과는 요청별로 반환
+ */
+@Slf4j
+@Component
+public class TransferGroupCommitter {
+
+    @Autowired
+    private TransferMapper transferMapper;
+
+    @Autowired
+    private AccountLockManager accountLockManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${banking.transfer.group-commit.max-batch:64}")
+    private int maxBatchSize;
+
+    @Value("${banking.transfer.group-commit.workers:8}")
+    private int workerCount;
+
+    @Value("${banking.transfer.group-commit.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${banking.transfer.group-commit.await-ms:30000}")
+    private long awaitMillis;
+
+    // 처리 대기 중인 묶음 (받는 계좌별)
+    private final ConcurrentHashMap<Integer, PendingBatch> pending = new ConcurrentHashMap<>();
+    // 처리 중인 묶음이 있는 받는 계좌 (pending.compute 안에서만 수정)
+    private final Set<Integer> inFlight = ConcurrentHashMap.newKeySet();
+
+    private ThreadPoolExecutor workers;
+
+    @PostConstruct
+    public void init() {
+        // 큐 크기 제한: 가득 차면 거절하고 요청에 바로 실패 통지
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "transfer-group-commit-worker");
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 종료 이후 넘어오는 묶음은 dispatch에서 호출 스레드가 직접 처리
+        workers.shutdown();
+        try {
+            workers.awaitTermination(awaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 이체 요청을 묶음에 넣고 커밋될 때까지 대기
+     * @return 실패 시 오류 메시지, 성공 시 null, 대기열 초과 시 {@link TransferService#RESULT_BUSY},
+     *         대기 시간 초과 시 {@link TransferService#RESULT_UNKNOWN}
+     */
+    public String commit(int fromAccountId, int toAccountId, BigDecimal amount, String memo) {
+        try {
+            return submit(fromAccountId, toAccountId, amount, memo).get(awaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("이체 대기 중 인터럽트 발생", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            // 묶음은 아직 처리 중일 수 있으므로 실패로 단정하지 않음
+            log.error("묶음 이체 결과 대기 시간 초과: fromAccountId={}, toAccountId={}", fromAccountId, toAccountId);
+            return TransferService.RESULT_UNKNOWN;
+        }
+    }
+
+    /**
+     * 이체 요청을 묶음에 넣고 결과 Future 반환
+     */
+    public CompletableFuture<String> submit(int fromAccountId, int toAccountId, BigDecimal amount, String memo) {
+        PendingTransfer transfer = new PendingTransfer(fromAccountId, amount, memo != null ? memo : "");
+        PendingBatch[] ready = new PendingBatch[1];
+
+        // compute는 키 단위로 원자적이므로 묶음 목록/처리 중 표시 수정은 항상 이 안에서만 수행
+        pending.compute(toAccountId, (id, current) -> {
+            PendingBatch batch = current != null ? current : new PendingBatch(id);
+            batch.items.add(transfer);
+            // 처리 중인 묶음이 없거나 묶음이 가득 차면 바로 처리
+            if (inFlight.add(id) || batch.items.size() >= maxBatchSize) {
+                ready[0] = batch;
+                return null;
+            }
+            return batch;
+        });
+
+        if (ready[0] != null) {
+            dispatch(ready[0]);
+        }
+        return transfer.result;
+    }
+
+    private void dispatch(PendingBatch batch) {
+        try {
+            workers.execute(() -> flush(batch));
+        } catch (RejectedExecutionException e) {
+            if (workers.isShutdown()) {
+                flush(batch);
+                return;
+            }
+            // 적용 전에 거절되었으므로 확정 실패로 통지
+            log.warn("묶음 이체 대기열 초과: toAccountId={}, size={}", batch.toAccountId, batch.items.size());
+            batch.items.forEach(t -> t.result.complete(TransferService.RESULT_BUSY));
+            release(batch.toAccountId);
+        }
+    }
+
+    /**
+     * 묶음 처리 완료 후 그동안 모인 묶음이 있으면 이어서 처리, 없으면 처리 중 표시 해제
+     */
+    private void release(int toAccountId) {
+        PendingBatch[] next = new PendingBatch[1];
+        pending.compute(toAccountId, (id, current) -> {
+            if (current == null) {
+                inFlight.remove(id);
+            }
+            next[0] = current;
+            return null;
+        });
+
+        if (next[0] != null) {
+            dispatch(next[0]);
+        }
+    }
+
+    private void flush(PendingBatch batch) {
+        try {
+            apply(batch);
+        } finally {
+            release(batch.toAccountId);
+        }
+    }
+
+    private void apply(PendingBatch batch) {
+        List<Integer> accountIds = new ArrayList<>();
+        accountIds.add(batch.toAccountId);
+        for (PendingTransfer t : batch.items) {
+            accountIds.add(t.fromAccountId);
+        }
+
+        try {
+            accountLockManager.executeWithLocks(accountIds,
+                    () -> transactionTemplate.execute(status -> applyBatch(status, batch)));
+        } catch (Exception e) {
+            log.error("묶음 이체 처리 실패: toAccountId={}, size={}", batch.toAccountId, batch.items.size(), e);
+            batch.items.forEach(t -> t.result.completeExceptionally(e));
+            return;
+        }
+
+        // 커밋 이후에 결과 통지
+        batch.items.forEach(t -> t.result.complete(t.outcome));
+        if (batch.items.size() > 1) {
+            log.debug("묶음 이체 완료: toAccountId={}, size={}", batch.toAccountId, batch.items.size());
+        }
+    }
+
+    private Void applyBatch(TransactionStatus status, PendingBatch batch) {
+        List<PendingTransfer> ordered = new ArrayList<>(batch.items);
+        ordered.sort(Comparator.comparingInt(t -> t.fromAccountId));
+
+        // 1. 받는 계좌 포함 계좌 ID 오름차순으로 행 잠금 + 조건부 출금 (실패 건만 개별 실패 처리)
+        BigDecimal total = BigDecimal.ZERO;
+        List<TransferVO> transfers = new ArrayList<>();
+        boolean receiverLocked = false;
+        for (PendingTransfer t : ordered) {
+            if (!receiverLocked && batch.toAccountId < t.fromAccountId) {
+                if (!lockReceiver(status, batch, ordered)) {
+                    return null;
+                }
+                receiverLocked = true;
+            }
+            if (transferMapper.debitBalance(t.fromAccountId, t.amount) == 0) {
+                t.outcome = "잔액이 부족합니다.";
+                continue;
+            }
+            total = total.add(t.amount);
+
+            TransferVO transfer = new TransferVO();
+            transfer.setFromAccountId(t.fromAccountId);
+            transfer.setToAccountId(batch.toAccountId);
+            transfer.setAmount(t.amount);
+            transfer.setMemo(t.memo);
+            transfers.add(transfer);
+        }
+
+        if (!receiverLocked && !lockReceiver(status, batch, ordered)) {
+            return null;
+        }
+
+        if (transfers.isEmpty()) {
+            return null;
+        }
+
+        // 2. 받는 계좌는 합계로 1회 입금 (행 잠금은 이미 보유)
+        transferMapper.creditBalance(batch.toAccountId, total);
+
+        // 3. 이체 + 거래내역 일괄 저장
+        transferMapper.insertTransfersWithHistory(transfers);
+        return null;
+    }
+
+    private boolean lockReceiver(TransactionStatus status, PendingBatch batch, List<PendingTransfer> ordered) {
+        if (transferMapper.lockAccount(batch.toAccountId) != null) {
+            return true;
+        }
+        status.setRollbackOnly();
+        ordered.forEach(t -> t.outcome = "받는 계좌가 존재하지 않습니다.");
+        return false;
+    }
+
+    private static class PendingBatch {
+        private final int toAccountId;
+        private final List<PendingTransfer> items = new ArrayList<>();
+
+        private PendingBatch(int toAccountId) {
+            this.toAccountId = toAccountId;
+        }
+    }
+
+    private static class PendingTransfer {
+        private final int fromAccountId;
+        private final BigDecimal amount;
+        private final String memo;
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        private String outcome; // null이면 성공
+
+        private PendingTransfer(int fromAccountId, BigDecimal amount, String memo) {
+            this.fromAccountId = fromAccountId;
+            this.amount = amount;
+            this.memo = memo;
+        }
+    }
+}
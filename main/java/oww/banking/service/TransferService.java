@@ -1,35 +1,75 @@
 package oww.banking.service;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.bcrypt.BCrypt;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import lombok.extern.slf4j.Slf4j;
 import oww.banking.mapper.TransferMapper;
-import oww.banking.util.AESUtil;
+import oww.banking.util.AccountNumberCache;
 import oww.banking.util.CryptoUtil;
 import oww.banking.vo.TransferVO;
+import oww.banking.vo.TransferHistoryPageVO;
 import oww.banking.vo.TransferHistoryVO;
+import oww.banking.vo.TransferMonthlySummaryVO;
 
 @Slf4j
 @Service
 public class TransferService {
 
+    // 이체 성공 (그 외 결과는 모두 실패 또는 확인 불가)
+    public static final String RESULT_SUCCESS = "이체가 성공적으로 완료되었습니다.";
+    // 요청이 많아 처리하지 않고 거절한 경우 (적용되지 않았으므로 재시도 가능)
+    public static final String RESULT_BUSY = "이체 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.";
+    // 처리 결과를 확인하지 못한 경우 (실패로 단정하지 않음)
+    public static final String RESULT_UNKNOWN = "이체 처리 결과를 확인하지 못했습니다. 거래내역에서 처리 여부를 확인해주세요.";
+
     @Autowired
     private TransferMapper transferMapper;
 
     @Autowired
-    private AESUtil aesUtil;
+    private AccountNumberCache accountNumberCache;
+
+    @Autowired
+    private AccountLockManager accountLockManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TransferGroupCommitter transferGroupCommitter;
+
+    @Value("${banking.transfer.group-commit.enabled:false}")
+    private boolean groupCommitEnabled;
+
+    // 거래내역 상대방 정보 조회 방식 (true: 외부 조인, false: 기존 서브쿼리)
+    @Value("${banking.history.counterparty-join:true}")
+    private boolean counterpartyJoinEnabled;
+
+    @Value("${banking.history.page-size:50}")
+    private int defaultHistoryPageSize;
+
+    @Value("${banking.history.max-page-size:200}")
+    private int maxHistoryPageSize;
 
     /**
      * 이체 처리 (fromEmailHash + toAccountNumber)
+     * - 조회/비밀번호 확인은 트랜잭션 밖에서, 잔액 이동만 계좌 잠금 + 트랜잭션 안에서 처리
      */
-    @Transactional
     public String processTransferByEmailHash(String fromEmailHash, String toAccountNumber, BigDecimal amount, 
                                              String memo, String password) {
         try {
@@ -53,7 +93,7 @@ public class TransferService {
             }
 
          // 3. 받는 계좌 정보 조회 (계좌번호 기반)
-            String encryptedToAccountNumber = aesUtil.encrypt(toAccountNumber);
+            String encryptedToAccountNumber = accountNumberCache.encrypt(toAccountNumber);
             Integer toAccountId = transferMapper.findAccountIdByNumber(encryptedToAccountNumber);
             if (toAccountId == null) {
                 log.error("받는 계좌가 존재하지 않습니다: toAccountNumber={}", toAccountNumber);
@@ -65,52 +105,20 @@ public class TransferService {
                 return "본인 계좌로는 이체할 수 없습니다.";
             }
 
-            // 5. 잔액 확인
-            BigDecimal fromBalance = transferMapper.getBalanceByAccountId(fromAccountId);
-            if (fromBalance == null || fromBalance.compareTo(amount) < 0) {
-                log.warn("잔액 부족: fromBalance={}, requestAmount={}", fromBalance, amount);
-                return "잔액이 부족합니다.";
-            }
-
-            // 6. 이체 금액 유효성 검사
+            // 5. 이체 금액 유효성 검사
             if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
                 return "이체 금액은 0원보다 커야 합니다.";
             }
 
-            // 7. 잔액 업데이트
-            BigDecimal newFromBalance = fromBalance.subtract(amount);
-            BigDecimal toBalance = transferMapper.getBalanceByAccountId(toAccountId);
-            BigDecimal newToBalance = (toBalance != null ? toBalance : BigDecimal.ZERO).add(amount);
-
-            transferMapper.updateBalance(fromAccountId, newFromBalance);
-            transferMapper.updateBalance(toAccountId, newToBalance);
-
-            // 8. 이체 내역 저장
-            TransferVO transfer = new TransferVO();
-            transfer.setFromAccountId(fromAccountId);
-            transfer.setToAccountId(toAccountId);
-            transfer.setAmount(amount);
-            transfer.setMemo(memo != null ? memo : "");
-            transferMapper.insertTransfer(transfer);
-
-            // 9. 거래내역 저장 (보내는 계좌)
-            TransferHistoryVO fromHistory = new TransferHistoryVO();
-            fromHistory.setAccountId(fromAccountId);
-            fromHistory.setTxType("TRANSFER_OUT");
-            fromHistory.setAmount(amount);
-            fromHistory.setMemo(memo != null ? memo : "");
-            transferMapper.insertTransferHistory(fromHistory);
-
-            // 10. 거래내역 저장 (받는 계좌)
-            TransferHistoryVO toHistory = new TransferHistoryVO();
-            toHistory.setAccountId(toAccountId);
-            toHistory.setTxType("TRANSFER_IN");
-            toHistory.setAmount(amount);
-            toHistory.setMemo(memo != null ? memo : "");
-            transferMapper.insertTransferHistory(toHistory);
+            // 6. 계좌 잠금 후 잔액 이동 + 이체/거래내역 저장
+            String failure = executeLockedTransfer(fromAccountId, toAccountId, amount, memo);
+            if (failure != null) {
+                log.warn("이체 실패: fromAccountId={}, requestAmount={}, reason={}", fromAccountId, amount, failure);
+                return failure;
+            }
 
             log.info("이체 처리 성공: amount={}", amount);
-            return "이체가 성공적으로 완료되었습니다.";
+            return RESULT_SUCCESS;
 
         } catch (Exception e) {
             log.error("이체 처리 중 오류 발생: ", e);
@@ -130,7 +138,7 @@ public class TransferService {
             String formattedAccountNumber = formatAccountNumber(plainAccountNumber);
             System.out.println("DB 형식으로 포맷 후: [" + formattedAccountNumber + "]");
             
-            String encryptedAccountNumber = aesUtil.encrypt(formattedAccountNumber);
+            String encryptedAccountNumber = accountNumberCache.encrypt(formattedAccountNumber);
             System.out.println("암호화된 계좌번호: [" + encryptedAccountNumber + "]");
             
             Map<String, Object> accountInfo = transferMapper.getAccountInfoByNumber(encryptedAccountNumber);
@@ -140,7 +148,7 @@ public class TransferService {
             if (accountInfo != null && accountInfo.get("ACCOUNT_NUMBER") != null) {
                 try {
                     String encryptedAccount = (String) accountInfo.get("ACCOUNT_NUMBER");
-                    String decryptedAccount = aesUtil.decrypt(encryptedAccount);
+                    String decryptedAccount = accountNumberCache.decrypt(encryptedAccount);
                     accountInfo.put("ACCOUNT_NUMBER", decryptedAccount);
                     System.out.println("복호화된 계좌번호로 교체: " + decryptedAccount);
                 } catch (Exception e) {
@@ -177,7 +185,6 @@ public class TransferService {
     /**
      * 해시 간 이체 처리 (두 해시값 모두 사용)
      */
-    @Transactional
     public String processTransferByEmailHashes(String fromEmailHash, String toEmailHash, BigDecimal amount, 
                                                String memo, String password) {
         try {
@@ -206,46 +213,14 @@ public class TransferService {
                 return "본인 계좌로는 이체할 수 없습니다.";
             }
 
-            // 5. 잔액 확인
-            BigDecimal fromBalance = transferMapper.getBalanceByAccountId(fromAccountId);
-            if (fromBalance == null || fromBalance.compareTo(amount) < 0) return "잔액이 부족합니다.";
-
-            // 6. 이체 금액 유효성 검사
+            // 5. 이체 금액 유효성 검사
             if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) return "이체 금액은 0원보다 커야 합니다.";
 
-            // 7. 잔액 업데이트
-            BigDecimal newFromBalance = fromBalance.subtract(amount);
-            BigDecimal toBalance = transferMapper.getBalanceByAccountId(toAccountId);
-            BigDecimal newToBalance = (toBalance != null ? toBalance : BigDecimal.ZERO).add(amount);
-
-            transferMapper.updateBalance(fromAccountId, newFromBalance);
-            transferMapper.updateBalance(toAccountId, newToBalance);
-
-            // 8. 이체 내역 저장
-            TransferVO transfer = new TransferVO();
-            transfer.setFromAccountId(fromAccountId);
-            transfer.setToAccountId(toAccountId);
-            transfer.setAmount(amount);
-            transfer.setMemo(memo != null ? memo : "");
-            transferMapper.insertTransfer(transfer);
-
-            // 9. 거래내역 저장 (보내는 계좌)
-            TransferHistoryVO fromHistory = new TransferHistoryVO();
-            fromHistory.setAccountId(fromAccountId);
-            fromHistory.setTxType("TRANSFER_OUT");
-            fromHistory.setAmount(amount);
-            fromHistory.setMemo(memo != null ? memo : "");
-            transferMapper.insertTransferHistory(fromHistory);
-
-            // 10. 거래내역 저장 (받는 계좌)
-            TransferHistoryVO toHistory = new TransferHistoryVO();
-            toHistory.setAccountId(toAccountId);
-            toHistory.setTxType("TRANSFER_IN");
-            toHistory.setAmount(amount);
-            toHistory.setMemo(memo != null ? memo : "");
-            transferMapper.insertTransferHistory(toHistory);
-
-            return "이체가 성공적으로 완료되었습니다.";
+            // 6. 계좌 잠금 후 잔액 이동 + 이체/거래내역 저장
+            String failure = executeLockedTransfer(fromAccountId, toAccountId, amount, memo);
+            if (failure != null) return failure;
+
+            return RESULT_SUCCESS;
 
         } catch (Exception e) {
             log.error("이체 처리 중 오류 발생: ", e);
@@ -253,6 +228,60 @@ public class TransferService {
         }
     }
 
+    /**
+     * 두 계좌를 JVM 안에서 먼저 잠근 뒤 트랜잭션 시작
+     * (같은 계좌 이체가 DB 커넥션을 잡은 채 행 잠금을 기다리지 않도록)
+     * group commit 사용 시 같은 받는 계좌로의 이체를 묶어서 처리
+     */
+    private String executeLockedTransfer(Integer fromAccountId, Integer toAccountId, BigDecimal amount, String memo) {
+        if (groupCommitEnabled) {
+            return transferGroupCommitter.commit(fromAccountId, toAccountId, amount, memo);
+        }
+        return accountLockManager.executeWithLocks(fromAccountId, toAccountId,
+                () -> transactionTemplate.execute(status -> executeTransfer(status, fromAccountId, toAccountId, amount, memo)));
+    }
+
+    /**
+     * 잔액 이동 + 이체/거래내역 저장 (delta 기반 원자적 갱신)
+     * - 계좌 ID 오름차순으로 UPDATE 하여 행 잠금 순서를 고정 (교착 방지)
+     * - 출금은 balance >= amount 조건부 차감, 0건이면 잔액 부족
+     * - 이체 1건 + 거래내역 2건은 한 번의 호출로 저장
+     * @return 실패 시 오류 메시지, 성공 시 null
+     */
+    private String executeTransfer(TransactionStatus status, Integer fromAccountId, Integer toAccountId,
+                                   BigDecimal amount, String memo) {
+        String failure = null;
+
+        if (fromAccountId < toAccountId) {
+            if (transferMapper.debitBalance(fromAccountId, amount) == 0) {
+                failure = "잔액이 부족합니다.";
+            } else if (transferMapper.creditBalance(toAccountId, amount) == 0) {
+                failure = "받는 계좌가 존재하지 않습니다.";
+            }
+        } else {
+            if (transferMapper.creditBalance(toAccountId, amount) == 0) {
+                failure = "받는 계좌가 존재하지 않습니다.";
+            } else if (transferMapper.debitBalance(fromAccountId, amount) == 0) {
+                failure = "잔액이 부족합니다.";
+            }
+        }
+
+        if (failure != null) {
+            // 한쪽 UPDATE가 이미 반영되었을 수 있으므로 트랜잭션 전체를 롤백
+            status.setRollbackOnly();
+            return failure;
+        }
+
+        TransferVO transfer = new TransferVO();
+        transfer.setFromAccountId(fromAccountId);
+        transfer.setToAccountId(toAccountId);
+        transfer.setAmount(amount);
+        transfer.setMemo(memo != null ? memo : "");
+        transferMapper.insertTransferWithHistory(transfer);
+
+        return null;
+    }
+
     /**
      * 이메일 해시로 계좌 정보 조회 (해시 기반)
      */
@@ -265,7 +294,7 @@ public class TransferService {
         // 계좌번호 복호화 처리
         try {
             if (accountInfo.getFromAccountNumber() != null) {
-                String decrypted = aesUtil.decrypt(accountInfo.getFromAccountNumber());
+                String decrypted = accountNumberCache.decrypt(accountInfo.getFromAccountNumber());
                 accountInfo.setFromAccountNumber(decrypted);
                 accountInfo.setAccountNumber(decrypted); // EL용 필드에 복사
             }
@@ -282,30 +311,115 @@ public class TransferService {
      * 이메일 해시로 거래내역 조회 (해시 기반)
      */
     public List<TransferHistoryVO> getTransferHistoryByEmailHash(String emailHash) {
-        List<TransferHistoryVO> historyList = transferMapper.getTransferHistoryByEmailHash(emailHash);
+        List<TransferHistoryVO> historyList = counterpartyJoinEnabled
+                ? transferMapper.getTransferHistoryByEmailHashJoined(emailHash)
+                : transferMapper.getTransferHistoryByEmailHash(emailHash);
 
         if (historyList != null) {
-            for (TransferHistoryVO h : historyList) {
-                if (h.getAccountNumber() != null) {
-                    try {
-                        h.setAccountNumber(aesUtil.decrypt(h.getAccountNumber()));
-                    } catch (Exception e) {
-                        log.error("계좌번호 복호화 실패", e);
-                    }
-                }
-                if (h.getOtherAccountNumber() != null) {
-                    try {
-                        h.setOtherAccountNumber(aesUtil.decrypt(h.getOtherAccountNumber()));
-                    } catch (Exception e) {
-                        log.error("상대방 계좌번호 복호화 실패", e);
-                    }
-                }
-            }
+            decryptHistoryAccountNumbers(historyList);
         }
 
         return historyList;
     }
 
+    /**
+     * 이메일 해시로 거래내역 페이지 조회 (keyset, 최신순)
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 null)
+     * @param size 페이지 크기 (null이면 기본값, 최대값 제한)
+     */
+    public TransferHistoryPageVO getTransferHistoryPage(String emailHash, String cursor, Integer size) {
+        int pageSize = size == null || size <= 0 ? defaultHistoryPageSize : Math.min(size, maxHistoryPageSize);
+
+        LocalDateTime cursorDate = null;
+        Integer cursorTxId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            int sep = cursor.lastIndexOf('_');
+            try {
+                cursorDate = LocalDateTime.parse(cursor.substring(0, sep));
+                cursorTxId = Integer.valueOf(cursor.substring(sep + 1));
+            } catch (IndexOutOfBoundsException | DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+            }
+        }
+
+        // 다음 페이지 존재 여부 확인을 위해 1건 더 조회
+        List<TransferHistoryVO> rows = transferMapper.getTransferHistoryPageByEmailHash(
+                emailHash, cursorDate, cursorTxId, pageSize + 1);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<TransferHistoryVO> items = hasNext ? rows.subList(0, pageSize) : rows;
+        decryptHistoryAccountNumbers(items);
+
+        String nextCursor = null;
+        if (hasNext) {
+            TransferHistoryVO last = items.get(items.size() - 1);
+            nextCursor = last.getTxDate() + "_" + last.getTxId();
+        }
+
+        return new TransferHistoryPageVO(items, nextCursor, hasNext);
+    }
+
+    /**
+     * 이메일 해시로 거래내역 스트리밍 조회 (한 행씩 전달, 전체 목록을 메모리에 올리지 않음)
+     */
+    @Transactional(readOnly = true)
+    public void streamTransferHistoryByEmailHash(String emailHash, Consumer<TransferHistoryVO> consumer) {
+        try (Cursor<TransferHistoryVO> cursor = transferMapper.streamTransferHistoryByEmailHash(emailHash)) {
+            for (TransferHistoryVO h : cursor) {
+                decryptHistoryAccountNumbers(h);
+                consumer.accept(h);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("거래내역 커서 종료 실패", e);
+        }
+    }
+
+    /**
+     * 이메일 해시로 월간 거래 요약 조회 (거래내역 전체를 읽지 않고 요약 행만 조회)
+     * @param months 최근 몇 개월 (최신순)
+     */
+    public List<TransferMonthlySummaryVO> getMonthlySummary(String emailHash, int months) {
+        return transferMapper.getMonthlySummaryByEmailHash(emailHash, months);
+    }
+
+    /**
+     * 여러 행의 계좌번호/상대방 계좌번호를 한 번에 복호화
+     */
+    private void decryptHistoryAccountNumbers(List<TransferHistoryVO> historyList) {
+        if (historyList.isEmpty()) {
+            return;
+        }
+        List<String> encrypted = new ArrayList<>(historyList.size() * 2);
+        for (TransferHistoryVO h : historyList) {
+            encrypted.add(h.getAccountNumber());
+            encrypted.add(h.getOtherAccountNumber());
+        }
+
+        List<String> decrypted = accountNumberCache.decryptAll(encrypted);
+        for (int i = 0; i < historyList.size(); i++) {
+            TransferHistoryVO h = historyList.get(i);
+            h.setAccountNumber(decrypted.get(i * 2));
+            h.setOtherAccountNumber(decrypted.get(i * 2 + 1));
+        }
+    }
+
+    private void decryptHistoryAccountNumbers(TransferHistoryVO h) {
+        if (h.getAccountNumber() != null) {
+            try {
+                h.setAccountNumber(accountNumberCache.decrypt(h.getAccountNumber()));
+            } catch (Exception e) {
+                log.error("계좌번호 복호화 실패", e);
+            }
+        }
+        if (h.getOtherAccountNumber() != null) {
+            try {
+                h.setOtherAccountNumber(accountNumberCache.decrypt(h.getOtherAccountNumber()));
+            } catch (Exception e) {
+                log.error("상대방 계좌번호 복호화 실패", e);
+            }
+        }
+    }
+
     /**
      * 특정 계좌의 거래내역 조회 (날짜 범위)
      */
@@ -334,4 +448,4 @@ public class TransferService {
         String emailHash = CryptoUtil.generateEmailHash(email);
         return getTransferHistoryByEmailHash(emailHash);
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
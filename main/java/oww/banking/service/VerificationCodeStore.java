@@ -0,0 +1,28 @@
+package oww.banking.service;
+
+import java.time.Duration;
+
+/**
+ * 이메일 인증번호 저장소
+ * - memory: 단일 인스턴스용 (기본값)
+ * - jdbc: 여러 인스턴스가 같은 DB를 공유하는 경우
+ * - banking.verification.store 속성으로 선택
+ */
+public interface VerificationCodeStore {
+
+    /**
+     * 인증번호 저장 (같은 키가 있으면 덮어씀)
+     * @param key 이메일 해시
+     */
+    void save(String key, String code, Duration ttl);
+
+    /**
+     * 인증번호 확인 (만료된 인증번호는 실패)
+     */
+    boolean verify(String key, String code);
+
+    /**
+     * 인증번호 삭제 (인증 완료 후)
+     */
+    void remove(String key);
+}
\ No newline at end of file
@@ -2,9 +2,17 @@ package oww.banking.util;
 
 import javax.crypto.Cipher;
 import javax.crypto.spec.SecretKeySpec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
+
 import org.springframework.stereotype.Component;
 
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Component
 public class AESUtil {
 
@@ -14,25 +22,38 @@ public class AESUtil {
     // TODO: 나중에 설정파일로 이동 (지금은 테스트용)
     private static final String SECRET_KEY = "MySecretKey12345MySecretKey12345"; // 32바이트 키
 
+    // 키는 한 번만 생성
+    private static final SecretKeySpec KEY_SPEC = new SecretKeySpec(SECRET_KEY.getBytes(), ALGORITHM);
+
+    // Cipher는 스레드 안전하지 않으므로 스레드별로 초기화된 인스턴스를 재사용
+    // (ECB 모드는 IV가 없어 doFinal 이후 같은 상태로 재사용 가능)
+    private static final ThreadLocal<Cipher> ENCRYPT_CIPHER = ThreadLocal.withInitial(() -> createCipher(Cipher.ENCRYPT_MODE));
+    private static final ThreadLocal<Cipher> DECRYPT_CIPHER = ThreadLocal.withInitial(() -> createCipher(Cipher.DECRYPT_MODE));
+
+    private static Cipher createCipher(int mode) {
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(mode, KEY_SPEC);
+            return cipher;
+        } catch (Exception e) {
+            throw new IllegalStateException("Cipher 초기화 실패: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * ECB 모드 암호화 - 같은 평문은 항상 같은 암호문 생성
      */
     public String encrypt(String plaintext) throws Exception {
         try {
-            // 1. 32바이트 키 생성
-            SecretKeySpec keySpec = new SecretKeySpec(SECRET_KEY.getBytes(), ALGORITHM);
-
-            // 2. Cipher 설정 (ECB 모드는 IV 불필요)
-            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-            cipher.init(Cipher.ENCRYPT_MODE, keySpec);
+            // 1. 스레드별 캐시된 Cipher로 암호화 실행
+            byte[] encryptedData = ENCRYPT_CIPHER.get().doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
 
-            // 3. 암호화 실행
-            byte[] encryptedData = cipher.doFinal(plaintext.getBytes("UTF-8"));
-
-            // 4. Base64로 인코딩
+            // 2. Base64로 인코딩
             return Base64.getEncoder().encodeToString(encryptedData);
 
         } catch (Exception e) {
+            // 예외 후 Cipher 상태를 보장할 수 없으므로 다음 호출 시 새로 생성
+            ENCRYPT_CIPHER.remove();
             throw new Exception("암호화 실패: " + e.getMessage());
         }
     }
@@ -52,19 +73,35 @@ public class AESUtil {
                 data = Base64.getUrlDecoder().decode(encryptedData);
             }
 
-            // 2. 키 생성
-            SecretKeySpec keySpec = new SecretKeySpec(SECRET_KEY.getBytes(), ALGORITHM);
-
-            // 3. Cipher 설정 (ECB 모드는 IV 불필요)
-            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-            cipher.init(Cipher.DECRYPT_MODE, keySpec);
-
-            // 4. 복호화 실행
-            byte[] decryptedData = cipher.doFinal(data);
-            return new String(decryptedData, "UTF-8");
+            // 2. 스레드별 캐시된 Cipher로 복호화 실행
+            byte[] decryptedData = DECRYPT_CIPHER.get().doFinal(data);
+            return new String(decryptedData, StandardCharsets.UTF_8);
 
         } catch (Exception e) {
+            DECRYPT_CIPHER.remove();
             throw new Exception("복호화 실패: " + e.getMessage());
         }
     }
+
+    /**
+     * 일괄 복호화 (거래내역 등 여러 행 처리용)
+     * - 같은 Cipher 하나로 전체 목록 처리
+     * - null은 null 그대로, 복호화 실패 항목도 null (실패는 항목별로 로그)
+     */
+    public List<String> decryptAll(List<String> encryptedList) {
+        List<String> result = new ArrayList<>(encryptedList.size());
+        for (String encrypted : encryptedList) {
+            if (encrypted == null) {
+                result.add(null);
+                continue;
+            }
+            try {
+                result.add(decrypt(encrypted));
+            } catch (Exception e) {
+                log.error("계좌번호 복호화 실패", e);
+                result.add(null);
+            }
+        }
+        return result;
+    }
 }
\ No newline at end of file
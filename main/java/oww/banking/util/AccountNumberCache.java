@@ -0,0 +1,141 @@
+package oww.banking.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 계좌번호 암호문 <-> 평문 캐시 (크기 제한)
+ * - AESUtil은 ECB 모드라 같은 계좌번호는 항상 같은 암호문이므로 양방향 캐시 가능
+ * - 조회는 잠금 없이 ConcurrentHashMap에서, 가득 차면 임의 항목 하나를 내보내고 적재
+ * - 거래내역 상대방 계좌처럼 반복되는 값의 복호화 비용 제거
+ */
+@Component
+public class AccountNumberCache {
+
+    private final AESUtil aesUtil;
+    private final int maxSize;
+
+    private final ConcurrentHashMap<String, String> plainByCipher = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> cipherByPlain = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public AccountNumberCache(AESUtil aesUtil,
+                              @Value("${banking.account-number-cache.max-size:10000}") int maxSize) {
+        this.aesUtil = aesUtil;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 계좌번호 복호화 (캐시 우선)
+     */
+    public String decrypt(String encrypted) throws Exception {
+        String plain = plainByCipher.get(encrypted);
+        if (plain != null) {
+            hits.increment();
+            return plain;
+        }
+
+        misses.increment();
+        plain = aesUtil.decrypt(encrypted);
+        // 입력 암호문은 비표준 인코딩(URL-safe Base64 등)일 수 있으므로 역방향(평문 -> 암호문)에는 넣지 않음
+        cache(plainByCipher, encrypted, plain);
+        return plain;
+    }
+
+    /**
+     * 계좌번호 일괄 복호화 (거래내역 등 여러 행 처리용)
+     * - 캐시에 없는 값만 모아 AESUtil.decryptAll 한 번으로 복호화
+     * - null은 null 그대로, 복호화 실패 항목은 원본 값 유지
+     */
+    public List<String> decryptAll(List<String> encryptedList) {
+        List<String> result = new ArrayList<>(encryptedList.size());
+        List<Integer> missIndexes = new ArrayList<>();
+        List<String> missValues = new ArrayList<>();
+        for (String encrypted : encryptedList) {
+            String plain = encrypted != null ? plainByCipher.get(encrypted) : null;
+            if (plain != null) {
+                hits.increment();
+            } else if (encrypted != null) {
+                misses.increment();
+                missIndexes.add(result.size());
+                missValues.add(encrypted);
+            }
+            result.add(plain);
+        }
+
+        if (!missValues.isEmpty()) {
+            List<String> decrypted = aesUtil.decryptAll(missValues);
+            for (int i = 0; i < missValues.size(); i++) {
+                String encrypted = missValues.get(i);
+                String plain = decrypted.get(i);
+                if (plain == null) {
+                    // 복호화 실패 (AESUtil에서 로그), 캐시하지 않고 원본 유지
+                    result.set(missIndexes.get(i), encrypted);
+                    continue;
+                }
+                cache(plainByCipher, encrypted, plain);
+                result.set(missIndexes.get(i), plain);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 계좌번호 암호화 (캐시 우선, 조회용 암호문 생성)
+     */
+    public String encrypt(String plain) throws Exception {
+        String encrypted = cipherByPlain.get(plain);
+        if (encrypted != null) {
+            hits.increment();
+            return encrypted;
+        }
+
+        misses.increment();
+        encrypted = aesUtil.encrypt(plain);
+        // AESUtil.encrypt 결과는 DB에 저장된 것과 같은 표준 인코딩이므로 양방향 모두 캐시
+        cache(plainByCipher, encrypted, plain);
+        cache(cipherByPlain, plain, encrypted);
+        return encrypted;
+    }
+
+    /**
+     * 캐시 적중률 조회
+     */
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("maxSize", maxSize);
+        stats.put("size", plainByCipher.size());
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", total > 0 ? (double) hitCount / total : 0.0);
+        return stats;
+    }
+
+    /**
+     * 크기 제한 적재 (가득 차면 임의 항목 하나 제거, 동시 적재로 잠시 maxSize를 조금 넘을 수 있음)
+     */
+    private void cache(ConcurrentHashMap<String, String> map, String key, String value) {
+        if (map.size() >= maxSize) {
+            Iterator<String> keys = map.keySet().iterator();
+            if (keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        map.put(key, value);
+    }
+}
@@ -19,10 +19,12 @@ public class BankingJwtUtil {
     private Long expiration;
 
     private SecretKey key;
+    private JwtParser jwtParser; // 불변·스레드 안전, 기동 시 1회 생성
 
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
     // ===============================
@@ -30,7 +32,7 @@ public class BankingJwtUtil {
     // ===============================
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            jwtParser.parseClaimsJws(token);
             return true;
         } catch (JwtException e) {
             System.err.println("JWT 토큰 검증 실패: " + e.getMessage());
@@ -70,34 +72,49 @@ public class BankingJwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
 
+    // ===============================
+    // 1회 파싱으로 주요 클레임 추출
+    // ===============================
+    public ParsedClaims parseAll(String token) {
+        Claims claims = extractAllClaims(token);
+        return new ParsedClaims(
+                claims.getSubject(),
+                claims.get("userNo", Long.class),
+                claims.get("role", String.class),
+                claims.get("userEmailHash", String.class),
+                claims.getIssuedAt(),
+                claims.getExpiration());
+    }
+
     // ===============================
     // 토큰 유효성 및 사용자 정보 추출
     // ===============================
     public TokenValidationResult validateAndExtract(String token) {
         try {
-            if (!validateToken(token)) {
-                return new TokenValidationResult(false, "유효하지 않은 토큰", null, null, null, null);
-            }
-
-            String username = getUsernameFromToken(token);
-            Long userNo = extractUserNo(token);
-            String role = extractRole(token);
-            String userEmailHash = extractUserEmailHash(token);
-
-            return new TokenValidationResult(true, "토큰 검증 성공", username, userNo, role, userEmailHash);
+            ParsedClaims parsed = parseAll(token); // 검증 + 추출 1회 파싱
+            return new TokenValidationResult(true, "토큰 검증 성공",
+                    parsed.username(), parsed.userNo(), parsed.role(), parsed.userEmailHash());
 
+        } catch (JwtException e) {
+            System.err.println("JWT 토큰 검증 실패: " + e.getMessage());
+            return new TokenValidationResult(false, "유효하지 않은 토큰", null, null, null, null);
         } catch (Exception e) {
             return new TokenValidationResult(false, "토큰 처리 오류: " + e.getMessage(), null, null, null, null);
         }
     }
 
+    // ===============================
+    // 파싱된 클레임 (parseAll 결과)
+    // ===============================
+    public record ParsedClaims(String username, Long userNo, String role, String userEmailHash,
+                               Date issuedAt, Date expiration) {
+    }
+
     // ===============================
     // 토큰 검증 결과 클래스
     // ===============================
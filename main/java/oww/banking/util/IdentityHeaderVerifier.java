@@ -0,0 +1,94 @@
+package oww.banking.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 게이트웨이 신원 헤더 검증
+ * - 게이트웨이가 JWT 검증 후 HMAC-SHA256으로 서명한 x-oww-identity 헤더 확인
+ * - 서명/만료만 확인하므로 JWT를 다시 파싱하지 않음
+ * - 형식: v1.{만료(epoch초)}.{userNo}.{username}.{role}.{userEmailHash}.{서명}
+ *   (만료는 10진수 그대로, userNo~userEmailHash와 서명은 패딩 없는 base64url, 서명은 마지막 "." 앞까지의 문자열에 대한 HMAC)
+ */
+@Slf4j
+@Component
+public class IdentityHeaderVerifier {
+
+    public static final String HEADER_NAME = "x-oww-identity";
+
+    private static final String VERSION = "v1";
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec keySpec;
+
+    private final ThreadLocal<Mac> mac = ThreadLocal.withInitial(this::newMac);
+
+    public IdentityHeaderVerifier(@Value("${oww.identity.secret:}") String secret) {
+        this.keySpec = secret.isEmpty() ? null : new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+    }
+
+    /**
+     * 신원 헤더 검증
+     * @return 검증 성공 시 사용자 정보, 헤더가 없거나 유효하지 않으면 null (JWT 검증으로 대체)
+     */
+    public BankingJwtUtil.TokenValidationResult verify(String header) {
+        if (keySpec == null || header == null || header.isEmpty()) {
+            return null;
+        }
+
+        String[] parts = header.split("\\.", -1);
+        if (parts.length != 7 || !VERSION.equals(parts[0])) {
+            log.warn("신원 헤더 형식 오류");
+            return null;
+        }
+
+        try {
+            int signatureStart = header.lastIndexOf('.');
+            byte[] expected = mac.get().doFinal(header.substring(0, signatureStart).getBytes(StandardCharsets.UTF_8));
+            if (!MessageDigest.isEqual(expected, DECODER.decode(parts[6]))) {
+                log.warn("신원 헤더 서명 불일치");
+                return null;
+            }
+
+            if (Long.parseLong(parts[1]) < System.currentTimeMillis() / 1000) {
+                log.debug("신원 헤더 만료");
+                return null;
+            }
+
+            String userNo = decode(parts[2]);
+            return new BankingJwtUtil.TokenValidationResult(true, "신원 헤더 검증 성공",
+                    decode(parts[3]),
+                    userNo != null ? Long.valueOf(userNo) : null,
+                    decode(parts[4]),
+                    decode(parts[5]));
+        } catch (IllegalArgumentException e) {
+            log.warn("신원 헤더 처리 오류: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String decode(String value) {
+        String decoded = new String(DECODER.decode(value), StandardCharsets.UTF_8);
+        return decoded.isEmpty() ? null : decoded;
+    }
+
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance("HmacSHA256");
+            instance.init(keySpec);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("신원 헤더 검증 초기화 실패", e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package oww.banking.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import oww.banking.util.BankingJwtUtil;
+
+/**
+ * 요청 단위 인증 사용자
+ * - BankingSecurityConfig 필터가 신원 헤더 또는 JWT를 한 번 검증해 요청 속성으로 저장
+ * - 컨트롤러는 파라미터로 받아 사용 (BankingUserArgumentResolver)
+ * - 인증 정보가 없으면 valid=false, message에 사유
+ */
+@Getter
+@AllArgsConstructor
+public class BankingUser {
+
+    public static final String REQUEST_ATTRIBUTE = "oww.banking.user";
+
+    private final boolean valid;
+    private final String message;
+    private final String username;
+    private final Long userNo;
+    private final String role;
+    private final String userEmailHash;
+
+    public static BankingUser of(BankingJwtUtil.TokenValidationResult result) {
+        return new BankingUser(result.isValid(), result.getMessage(), result.getUsername(),
+                result.getUserNo(), result.getRole(), result.getUserEmailHash());
+    }
+
+    public static BankingUser anonymous(String message) {
+        return new BankingUser(false, message, null, null, null, null);
+    }
+}
\ No newline at end of file
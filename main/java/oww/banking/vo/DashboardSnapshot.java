@@ -0,0 +1,28 @@
+package oww.banking.vo;
+
+import java.math.BigDecimal;
+
+import lombok.Data;
+
+/**
+ * 대시보드용 계좌 + 세이프박스 + 목표 집계 (한 번의 쿼리로 조회)
+ * - 없는 계좌/세이프박스는 null, 금액 집계는 0
+ * - goalPercent = 세이프박스 잔액 / 총자산 * 100 (SQL에서 계산, 버림)
+ */
+@Data
+public class DashboardSnapshot {
+    private AccountVO account;
+    private SafeboxVO safebox;
+
+    private BigDecimal accountBalance;
+    private BigDecimal safeboxBalance;
+    private BigDecimal totalAssets;
+    private int goalPercent;
+
+    private int goalCount;               // 정기저금 목표 수
+    private BigDecimal goalTargetAmount; // 목표 금액 합계
+    private BigDecimal goalSavedAmount;  // 목표별 저축액 합계
+
+    public boolean isHasAccount() { return account != null; }
+    public boolean isHasSafebox() { return safebox != null; }
+}
\ No newline at end of file
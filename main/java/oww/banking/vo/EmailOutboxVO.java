@@ -0,0 +1,28 @@
+package oww.banking.vo;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 메일 발송 대기열 (email_outbox)
+ * - 요청 스레드는 행만 저장하고, 발송은 워커가 재시도와 함께 처리
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailOutboxVO {
+    private Long outboxId;
+    private String mailType; // VERIFICATION
+    private String toEmail;
+    private String verificationCode;
+    private String userName;
+    private String status; // PENDING, SENDING, SENT, FAILED
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime sentAt;
+}
\ No newline at end of file
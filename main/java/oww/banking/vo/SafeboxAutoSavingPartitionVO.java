@@ -0,0 +1,27 @@
+package oww.banking.vo;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 자동 저축 파티션 임대 (safebox_auto_saving_partition)
+ * - 실행일마다 goal_id 해시 기준 N개 파티션, 노드가 임대(lease)해서 처리
+ * - 임대가 만료되면 다른 노드가 lastGoalId 이후부터 이어서 처리
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SafeboxAutoSavingPartitionVO {
+    private LocalDate runDate;
+    private int partitionNo;
+    private String owner; // 처리 중인 노드 ID
+    private LocalDateTime leaseUntil;
+    private String status; // PENDING, RUNNING, DONE
+    private int lastGoalId; // 이 ID까지 모든 청크 커밋 완료
+    private int appliedCount;
+    private LocalDateTime updatedAt;
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package oww.banking.vo;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 자동 저축 대상 목표 (목표 + 출금 계좌 + 누적 저축액)
+ * - amount는 배치에서 계산해 채움
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SafeboxAutoSavingTarget {
+    private int goalId;
+    private int safeboxId;
+    private int accountId;
+    private BigDecimal targetAmount;
+    private BigDecimal savedAmount;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String paymentType; // "daily" or "monthly"
+    private BigDecimal amount; // 이번 회차 저축액
+}
\ No newline at end of file
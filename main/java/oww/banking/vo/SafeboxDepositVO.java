@@ -0,0 +1,41 @@
+package oww.banking.vo;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 세이프박스 입금 요청/결과 (depositToSafebox 파라미터)
+ * - resultCode, accountBalance, safeboxBalance는 OUT 파라미터로 채워짐
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SafeboxDepositVO {
+
+    public static final int SUCCESS = 1;
+    public static final int INSUFFICIENT_BALANCE = 0;
+    public static final int ACCOUNT_NOT_FOUND = -1;
+    public static final int GOAL_NOT_FOUND = -2;
+    public static final int INVALID_AMOUNT = -3; // 호출 전 검증 실패 (프로시저 호출 안 함)
+
+    private String emailHash;
+    private BigDecimal amount;
+    private Integer goalId; // null이면 저축 내역 없이 세이프박스만 입금
+
+    private Integer resultCode;
+    private BigDecimal accountBalance; // 입금 후 계좌 잔액
+    private BigDecimal safeboxBalance; // 입금 후 세이프박스 잔액
+
+    public SafeboxDepositVO(String emailHash, BigDecimal amount, Integer goalId) {
+        this.emailHash = emailHash;
+        this.amount = amount;
+        this.goalId = goalId;
+    }
+
+    public boolean isSuccess() {
+        return resultCode != null && resultCode == SUCCESS;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package oww.banking.vo;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 저축 목표 + 진행률 (목표별 누적 저축액을 한 번의 GROUP BY로 조회)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SafeboxGoalProgressVO {
+	private int goalId;
+	private int safeboxId;
+	private String title;
+	private BigDecimal targetAmount;
+	private LocalDate startDate;
+	private LocalDate endDate;
+	private String paymentType; // "daily" or "monthly"
+	private LocalDateTime createdAt;
+	private BigDecimal savedAmount;
+	private int progressPercent; // 0 ~ 100
+}
\ No newline at end of file
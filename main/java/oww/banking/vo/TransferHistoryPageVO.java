@@ -0,0 +1,20 @@
+package oww.banking.vo;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 거래내역 keyset 페이지
+ * - nextCursor: 다음 페이지 요청 시 그대로 전달 (마지막 페이지면 null)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferHistoryPageVO {
+    private List<TransferHistoryVO> items;
+    private String nextCursor;
+    private boolean hasNext;
+}
\ No newline at end of file
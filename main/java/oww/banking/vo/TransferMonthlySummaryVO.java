@@ -0,0 +1,26 @@
+package oww.banking.vo;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 계좌별 월간 거래 요약 (transfer_monthly_summary)
+ * - 거래내역 저장과 같은 트랜잭션에서 누적 갱신
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferMonthlySummaryVO {
+    private int accountId;
+    private String summaryMonth; // YYYY-MM
+    private BigDecimal inAmount;
+    private BigDecimal outAmount;
+    private int inCount;
+    private int outCount;
+    private BigDecimal closingBalance; // 해당 월 마지막 거래 직후 잔액
+    private LocalDateTime updatedAt;
+}
\ No newline at end of file
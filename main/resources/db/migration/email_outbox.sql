@@ -0,0 +1,24 @@
+-- 메일 발송 대기열 (EmailOutboxService)
+
+CREATE SEQUENCE EMAIL_OUTBOX_SEQ;
+
+-- to_email/verification_code/user_name은 발송이 끝나면(SENT/FAILED) NULL로 지움
+CREATE TABLE email_outbox (
+    outbox_id          NUMBER        PRIMARY KEY,
+    mail_type          VARCHAR2(30)  NOT NULL,
+    to_email           VARCHAR2(255),
+    verification_code  VARCHAR2(10),
+    user_name          VARCHAR2(100),
+    status             VARCHAR2(10)  DEFAULT 'PENDING' NOT NULL,
+    attempts           NUMBER        DEFAULT 0 NOT NULL,
+    next_attempt_at    TIMESTAMP     NOT NULL,
+    locked_at          TIMESTAMP,
+    last_error         VARCHAR2(500),
+    created_at         TIMESTAMP     DEFAULT CURRENT_TIMESTAMP,
+    sent_at            TIMESTAMP
+);
+
+CREATE INDEX idx_email_outbox_due ON email_outbox (status, next_attempt_at);
+
+-- 보관 기간이 지난 SENT/FAILED 행 삭제용
+CREATE INDEX idx_email_outbox_created ON email_outbox (created_at);
\ No newline at end of file
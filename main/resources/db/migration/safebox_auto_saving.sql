@@ -0,0 +1,25 @@
+-- 세이프박스 자동 저축 배치 (SafeboxAutoSavingService)
+
+-- 실행일 x 파티션 임대
+CREATE TABLE safebox_auto_saving_partition (
+    run_date       DATE         NOT NULL,
+    partition_no   NUMBER       NOT NULL,
+    owner          VARCHAR2(200),
+    lease_until    TIMESTAMP,
+    status         VARCHAR2(10) DEFAULT 'PENDING' NOT NULL,
+    last_goal_id   NUMBER       DEFAULT 0 NOT NULL,
+    applied_count  NUMBER       DEFAULT 0 NOT NULL,
+    updated_at     TIMESTAMP    DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (run_date, partition_no)
+);
+
+-- 저축 내역 출처 (AUTO: 자동 저축 배치, MANUAL: 사용자 입금)
+ALTER TABLE safebox_history ADD payment_source VARCHAR2(10) DEFAULT 'MANUAL' NOT NULL;
+
+CREATE INDEX idx_safebox_history_goal_date ON safebox_history (goal_id, payment_date);
+
+-- 같은 목표의 같은 날 자동 저축은 한 번만 (MANUAL 행은 키가 NULL이라 인덱스에 포함되지 않음)
+CREATE UNIQUE INDEX ux_safebox_history_auto ON safebox_history (
+    CASE WHEN payment_source = 'AUTO' THEN goal_id END,
+    CASE WHEN payment_source = 'AUTO' THEN payment_date END
+);
\ No newline at end of file
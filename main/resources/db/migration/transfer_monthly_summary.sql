@@ -0,0 +1,29 @@
+-- 계좌별 월간 이체 요약 (TransferMapper.mergeMonthlySummary)
+
+CREATE TABLE transfer_monthly_summary (
+    account_id      NUMBER        NOT NULL,
+    summary_month   CHAR(7)       NOT NULL, -- YYYY-MM
+    in_amount       NUMBER(15,2)  DEFAULT 0 NOT NULL,
+    out_amount      NUMBER(15,2)  DEFAULT 0 NOT NULL,
+    in_count        NUMBER        DEFAULT 0 NOT NULL,
+    out_count       NUMBER        DEFAULT 0 NOT NULL,
+    closing_balance NUMBER(15,2),
+    updated_at      TIMESTAMP,
+    CONSTRAINT pk_transfer_monthly_summary PRIMARY KEY (account_id, summary_month)
+);
+
+-- 기존 거래내역으로 요약 채우기 (지난 달 월말 잔액은 알 수 없으므로 이번 달만 현재 잔액으로 기록)
+INSERT INTO transfer_monthly_summary (
+    account_id, summary_month, in_amount, out_amount, in_count, out_count, closing_balance, updated_at
+)
+SELECT th.account_id,
+       TO_CHAR(th.tx_date, 'YYYY-MM'),
+       SUM(CASE WHEN th.tx_type = 'TRANSFER_IN' THEN th.amount ELSE 0 END),
+       SUM(CASE WHEN th.tx_type = 'TRANSFER_OUT' THEN th.amount ELSE 0 END),
+       SUM(CASE WHEN th.tx_type = 'TRANSFER_IN' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN th.tx_type = 'TRANSFER_OUT' THEN 1 ELSE 0 END),
+       CASE WHEN TO_CHAR(th.tx_date, 'YYYY-MM') = TO_CHAR(CURRENT_TIMESTAMP, 'YYYY-MM') THEN MAX(a.balance) END,
+       CURRENT_TIMESTAMP
+FROM transfer_history th
+JOIN account a ON a.account_id = th.account_id
+GROUP BY th.account_id, TO_CHAR(th.tx_date, 'YYYY-MM');
\ No newline at end of file
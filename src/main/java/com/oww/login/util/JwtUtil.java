@@ -12,11 +12,13 @@ import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 
 @Component
 public class JwtUtil {
@@ -30,8 +32,20 @@ public class JwtUtil {
     @Value("${jwt.refresh-expiration}")
     private Long refreshTokenValidity;
 
+    // 키/파서는 불변·스레드 안전하므로 기동 시 1회 생성
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    public void init() {
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
+        return signingKey;
     }
 
     // ===============================
@@ -130,11 +144,25 @@ public class JwtUtil {
         }
     }
 
+    // ===============================
+    // 1회 파싱으로 주요 클레임 추출
+    // ===============================
+    public ParsedClaims parseAll(String token) {
+        Claims claims = extractAllClaims(token);
+        Object userNo = claims.get("userNo");
+        String role = claims.get("role", String.class);
+        return new ParsedClaims(
+                claims.getSubject(),
+                userNo != null ? userNo.toString() : null,
+                role != null ? role : "USER",
+                claims.get("userEmailHash", String.class),
+                claims.getIssuedAt(),
+                claims.getExpiration());
+    }
+
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
+            return jwtParser
                     .parseClaimsJws(token)
                     .getBody();
         } catch (ExpiredJwtException e) {
@@ -224,20 +252,32 @@ public class JwtUtil {
     // 토큰 유효성 및 클레임 정보를 한번에 검증하는 메서드
     // ===============================
     public TokenValidationResult validateTokenWithDetails(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            return new TokenValidationResult(false, "토큰이 유효하지 않거나 만료되었습니다", null, null, null, null);
+        }
+
+        ParsedClaims parsed;
         try {
-            if (!validateToken(token)) {
-                return new TokenValidationResult(false, "토큰이 유효하지 않거나 만료되었습니다", null, null, null, null);
-            }
+            parsed = parseAll(token);
+        } catch (Exception e) {
+            return new TokenValidationResult(false, "토큰이 유효하지 않거나 만료되었습니다", null, null, null, null);
+        }
 
-            String username = extractUsername(token);
-            String userNo = extractUserNo(token);
-            String role = extractRole(token);
-            String userEmailHash = extractUserEmailHash(token);  // 해시값 추출
+        if (parsed.isExpired()) {
+            return new TokenValidationResult(false, "토큰이 유효하지 않거나 만료되었습니다", null, null, null, null);
+        }
 
-            return new TokenValidationResult(true, "토큰 검증 성공", username, userNo, role, userEmailHash);
+        return new TokenValidationResult(true, "토큰 검증 성공", parsed.username(), parsed.userNo(), parsed.role(), parsed.userEmailHash());
+    }
 
-        } catch (Exception e) {
-            return new TokenValidationResult(false, "토큰 검증 중 오류: " + e.getMessage(), null, null, null, null);
+    // ===============================
+    // 파싱된 클레임 (parseAll 결과)
+    // ===============================
+    public record ParsedClaims(String username, String userNo, String role, String userEmailHash,
+                               Date issuedAt, Date expiration) {
+
+        public boolean isExpired() {
+            return expiration != null && expiration.before(new Date());
         }
     }
 